@@ -241,6 +241,85 @@ export async function fetchServiceInstancesByProject(projectId: number): Promise
   }
 }
 
+export interface ApiServiceInstancePage {
+  items: ApiServiceInstance[];
+  nextCursor?: string | null;
+  hasMore: boolean;
+}
+
+export interface ServiceInstancePageFilters {
+  projectId?: number;
+  status?: string;
+  profile?: string;
+  infraType?: string;
+}
+
+// Keyset-paginated listing: pass the previous page's nextCursor to continue
+export async function fetchServiceInstancesPage(
+  cursor?: string | null,
+  limit = 200,
+  filters: ServiceInstancePageFilters = {}
+): Promise<ApiServiceInstancePage> {
+  const params = new URLSearchParams({ limit: String(limit) });
+  if (cursor) {
+    params.set('cursor', cursor);
+  }
+  Object.entries(filters).forEach(([key, value]) => {
+    if (value !== undefined && value !== null && value !== '') {
+      params.set(key, String(value));
+    }
+  });
+
+  try {
+    const response = await fetch(`${API_BASE_URL}/services/getServiceInstancesPage?${params.toString()}`);
+    if (!response.ok) {
+      throw new Error(`Failed to fetch service instance page: ${response.statusText}`);
+    }
+    return await response.json();
+  } catch (error) {
+    console.error('Error fetching service instance page:', error);
+    throw error;
+  }
+}
+
+export interface ApiServiceInstanceDelta {
+  instanceId: string;
+  projectId: number | null;
+  serviceName: string | null;
+  machineName: string | null;
+  profile: string | null;
+  status: string | null;
+  uptimeSeconds: number | null;
+  version: string | null;
+  lastUpdated: string | null;
+  deleted: boolean;
+}
+
+// Push stream of service instance changes; returns a function that closes the stream.
+// The server drops clients that fall too far behind, so reload the list when onError fires.
+export function subscribeServiceInstanceChanges(
+  filters: { projectId?: number; profile?: string },
+  onChange: (delta: ApiServiceInstanceDelta) => void,
+  onError?: (event: Event) => void
+): () => void {
+  const params = new URLSearchParams();
+  if (filters.projectId !== undefined) {
+    params.set('projectId', String(filters.projectId));
+  }
+  if (filters.profile) {
+    params.set('profile', filters.profile);
+  }
+
+  const source = new EventSource(`${API_BASE_URL}/services/streamServiceInstanceChanges?${params.toString()}`);
+  source.addEventListener('instance', (event) => {
+    onChange(JSON.parse((event as MessageEvent).data));
+  });
+  if (onError) {
+    source.onerror = onError;
+  }
+  return () => source.close();
+}
+
 // Infrastructure API calls
 export async function fetchAllInfrastructure(): Promise<ApiInfraDetail[]> {
   try {
@@ -329,6 +408,39 @@ export async function fetchInfrastructureByEnvironment(environment: string): Pro
   return response.json();
 }
 
+export interface ApiMetricRange {
+  metricName: string;
+  unit: string | null;
+  aggregation: 'avg' | 'max' | 'min' | 'p95';
+  resolution: string;
+  stepSeconds: number;
+  timestamps: number[];
+  series: { infraId: number; values: (number | null)[] }[];
+}
+
+/**
+ * Fetch aggregated history of one metric for several hosts in a single columnar payload.
+ * from/to are local ISO date-times (e.g. 2024-01-01T00:00:00).
+ */
+export async function fetchMetricRange(
+  infraIds: number[],
+  metricName: string,
+  from: string,
+  to?: string,
+  stepSeconds?: number,
+  aggregation: 'avg' | 'max' | 'min' | 'p95' = 'avg'
+): Promise<ApiMetricRange> {
+  const params = new URLSearchParams({ metricName, from, aggregation });
+  infraIds.forEach(id => params.append('infraIds', String(id)));
+  if (to) params.set('to', to);
+  if (stepSeconds) params.set('stepSeconds', String(stepSeconds));
+  const response = await fetch(`${API_BASE_URL}/infrastructure/getMetricRange?${params.toString()}`);
+  if (!response.ok) {
+    throw new Error(`Failed to fetch ${metricName} history: ${response.statusText}`);
+  }
+  return response.json();
+}
+
 export async function fetchDistinctEnvironments(): Promise<string[]> {
   try {
     const response = await fetch(`${API_BASE_URL}/infrastructure/getDistinctEnvironments`);
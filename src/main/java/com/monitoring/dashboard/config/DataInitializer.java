@@ -2,6 +2,8 @@ package com.monitoring.dashboard.config;
 
 import com.monitoring.dashboard.model.*;
 import com.monitoring.dashboard.repository.*;
+import com.monitoring.dashboard.service.MetricNameDictionary;
+import com.monitoring.dashboard.service.MetricSampleService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,11 +25,18 @@ public class DataInitializer implements CommandLineRunner {
     private final RoleFunctionAccessRepository accessRepository;
     private final ComponentRepository componentRepository;
     private final DeploymentConfigRepository deploymentConfigRepository;
+    private final DeploymentConfigParamsRepository deploymentConfigParamsRepository;
     private final ServiceInstanceRepository serviceInstanceRepository;
     private final EnvironmentRepository environmentRepository;
     private final RegionRepository regionRepository;
     private final ProjectEnvironmentMappingRepository projectEnvironmentMappingRepository;
     private final ProjectEnvironmentRepository projectEnvironmentRepository;
+    private final InfraMetricSampleRepository infraMetricSampleRepository;
+    private final InfraMetricRollupRepository infraMetricRollupRepository;
+    private final MetricNameDictionary metricNameDictionary;
+    private final MetricSampleService metricSampleService;
+
+    private static final int USAGE_HISTORY_POINTS = 24 * 12; // 24h at 5 minute intervals
 
     private final Random random = new Random(42); // Fixed seed for reproducibility
 
@@ -44,9 +53,12 @@ public class DataInitializer implements CommandLineRunner {
     private void initializeData() {
         // Clear all existing data
         serviceInstanceRepository.deleteAll();
+        deploymentConfigParamsRepository.deleteAllInBatch();
         deploymentConfigRepository.deleteAll();
         componentRepository.deleteAll();
         infraMetricsRepository.deleteAll();
+        infraMetricSampleRepository.deleteAllInBatch();
+        infraMetricRollupRepository.deleteAllInBatch();
         infrastructureRepository.deleteAll();
         accessRepository.deleteAll();
         projectEnvironmentRepository.deleteAll();
@@ -344,7 +356,6 @@ public class DataInitializer implements CommandLineRunner {
         infra.setProjectEnvironmentMapping(mapping);
         infra = infrastructureRepository.save(infra);
 
-        LocalDate today = LocalDate.now();
         LocalDateTime now = LocalDateTime.now();
 
         if ("ecs".equalsIgnoreCase(type)) {
@@ -355,9 +366,9 @@ public class DataInitializer implements CommandLineRunner {
             Double requestCpuUsed = cpuUsage * 0.5;
             
             addMetric(infra, "limit_cpu_max", String.valueOf(limitCpuMax), "vCPU", null, null);
-            addMetric(infra, "limit_cpu_used", String.valueOf(limitCpuUsed), "vCPU", today, now);
+            addUsageHistory(infra, "limit_cpu_used", limitCpuUsed, "vCPU", now);
             addMetric(infra, "request_cpu_max", String.valueOf(requestCpuMax), "vCPU", null, null);
-            addMetric(infra, "request_cpu_used", String.valueOf(requestCpuUsed), "vCPU", today, now);
+            addUsageHistory(infra, "request_cpu_used", requestCpuUsed, "vCPU", now);
             
             // ECS memory metrics: limit_memory_max, limit_memory_used, request_memory_max, request_memory_used
             Double limitMemMax = memLimit;
@@ -366,28 +377,28 @@ public class DataInitializer implements CommandLineRunner {
             Double requestMemUsed = memUsage * 0.5;
             
             addMetric(infra, "limit_memory_max", String.valueOf(limitMemMax), "GiB", null, null);
-            addMetric(infra, "limit_memory_used", String.valueOf(limitMemUsed), "GiB", today, now);
+            addUsageHistory(infra, "limit_memory_used", limitMemUsed, "GiB", now);
             addMetric(infra, "request_memory_max", String.valueOf(requestMemMax), "GiB", null, null);
-            addMetric(infra, "request_memory_used", String.valueOf(requestMemUsed), "GiB", today, now);
+            addUsageHistory(infra, "request_memory_used", requestMemUsed, "GiB", now);
             
             // Pod metrics: pod_max, pod_used
             int podMax = 50 + random.nextInt(150); // 50-200 pods
             int podUsed = 10 + random.nextInt(podMax - 10); // 10 to podMax-1
             addMetric(infra, "pod_max", String.valueOf(podMax), "count", null, null);
-            addMetric(infra, "pod_used", String.valueOf(podUsed), "count", today, now);
+            addUsageHistory(infra, "pod_used", podUsed, "count", now);
         } else {
             // VM metrics (linux/windows): cpu_max, cpu_used, memory_max, memory_used, disk_max, disk_used
             addMetric(infra, "cpu_max", String.valueOf(cpuLimit), "vCPU", null, null);
-            addMetric(infra, "cpu_used", String.valueOf(cpuUsage), "vCPU", today, now);
+            addUsageHistory(infra, "cpu_used", cpuUsage, "vCPU", now);
             
             addMetric(infra, "memory_max", String.valueOf(memLimit), "GiB", null, null);
-            addMetric(infra, "memory_used", String.valueOf(memUsage), "GiB", today, now);
+            addUsageHistory(infra, "memory_used", memUsage, "GiB", now);
             
             // Disk metrics
             Double diskMax = 100.0 + random.nextDouble() * 400.0; // 100-500 GiB
             Double diskUsed = diskMax * (0.3 + random.nextDouble() * 0.4); // 30-70% used
             addMetric(infra, "disk_max", String.valueOf(diskMax), "GiB", null, null);
-            addMetric(infra, "disk_used", String.valueOf(diskUsed), "GiB", today, now);
+            addUsageHistory(infra, "disk_used", diskUsed, "GiB", now);
         }
 
         return infra;
@@ -405,6 +416,22 @@ public class DataInitializer implements CommandLineRunner {
         infraMetricsRepository.save(metric);
     }
 
+    /**
+     * Seed a day of usage samples at 5 minute intervals, random-walking back from the current value.
+     */
+    private void addUsageHistory(Infrastructure infra, String metricName, double currentValue,
+                                 String unit, LocalDateTime now) {
+        Integer metricNameId = metricNameDictionary.intern(metricName, unit).getMetricNameId();
+        List<InfraMetricSample> samples = new ArrayList<>(USAGE_HISTORY_POINTS);
+        double value = currentValue;
+        for (int i = 0; i < USAGE_HISTORY_POINTS; i++) {
+            samples.add(new InfraMetricSample(infra.getInfraId(), metricNameId,
+                    now.minusMinutes(5L * i), Math.round(value * 100.0) / 100.0));
+            value = Math.max(0.0, value * (0.95 + random.nextDouble() * 0.1));
+        }
+        metricSampleService.appendSamples(samples);
+    }
+
     /**
      * Create deployment configs for all components on all infrastructure
      * Creates ONE config per component per profile, selecting random infrastructure
@@ -457,16 +484,12 @@ public class DataInitializer implements CommandLineRunner {
                 config.setBasePort(8000 + random.nextInt(100));
 
                 // Create deployment parameters based on infrastructure type
-                try {
-                    byte[] deployParams = createDeploymentParams(selectedInfra.getInfraType());
-                    config.setDeployParams(deployParams);
-                } catch (Exception e) {
-                    log.error("Error creating deployment params for component {} on infra {}",
-                             component.getComponentName(), selectedInfra.getInfraName(), e);
-                    continue;
-                }
+                Map<String, Object> deployParams = createDeploymentParams(selectedInfra.getInfraType());
+                config.applyDeployParams(deployParams);
 
-                deploymentConfigRepository.save(config);
+                DeploymentConfig savedConfig = deploymentConfigRepository.save(config);
+                deploymentConfigParamsRepository.save(new DeploymentConfigParams(savedConfig,
+                        convertMapToJson(deployParams).getBytes(java.nio.charset.StandardCharsets.UTF_8)));
                 configCount++;
             }
         }
@@ -1277,11 +1300,11 @@ public class DataInitializer implements CommandLineRunner {
     }
 
     /**
-     * Create deployment parameters as JSON stored in byte array
+     * Create deployment parameters (stored as a JSON byte array)
      * For ECS: MIN_POD=1, MAX_POD=5, REQ_MEMORY=1GB, LIMIT_MEMORY=2GB, REQ_CPU=100m, LIMIT_CPU=250m
      * For Linux/Windows: MAX_MEMORY=2GB
      */
-    private byte[] createDeploymentParams(String infraType) {
+    private Map<String, Object> createDeploymentParams(String infraType) {
         Map<String, Object> params = new HashMap<>();
 
         if ("ecs".equalsIgnoreCase(infraType)) {
@@ -1297,9 +1320,7 @@ public class DataInitializer implements CommandLineRunner {
             params.put("MAX_MEMORY", "2GB");
         }
 
-        // Convert to JSON string and then to bytes
-        String jsonString = convertMapToJson(params);
-        return jsonString.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        return params;
     }
 
     /**
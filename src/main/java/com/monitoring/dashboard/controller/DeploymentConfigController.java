@@ -1,10 +1,14 @@
 package com.monitoring.dashboard.controller;
 
+import com.monitoring.dashboard.dto.ComponentDeploymentDTO;
 import com.monitoring.dashboard.dto.CreateDeploymentConfigBatchRequest;
 import com.monitoring.dashboard.dto.DeploymentConfigDTO;
 import com.monitoring.dashboard.model.DeploymentConfig;
+import com.monitoring.dashboard.service.DeploymentConfigBatchException;
+import com.monitoring.dashboard.service.DeploymentConfigBatchException.ItemError;
 import com.monitoring.dashboard.service.DeploymentConfigService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 
@@ -38,12 +42,12 @@ public class DeploymentConfigController {
     }
 
     @GetMapping("/getDeploymentConfigsForProject")
-    public List<DeploymentConfig> getDeploymentConfigsForProject(@RequestParam Long projectId) {
+    public List<ComponentDeploymentDTO> getDeploymentConfigsForProject(@RequestParam Long projectId) {
         return deploymentConfigService.getDeploymentConfigsForProject(projectId);
     }
 
     @GetMapping("/getByProject/{projectId}")
-    public List<DeploymentConfig> getDeploymentConfigsByProject(@PathVariable Long projectId) {
+    public List<ComponentDeploymentDTO> getDeploymentConfigsByProject(@PathVariable Long projectId) {
         return deploymentConfigService.getDeploymentConfigsForProject(projectId);
     }
 
@@ -66,4 +70,11 @@ public class DeploymentConfigController {
     public void deleteDeploymentConfig(@PathVariable Long configId) {
         deploymentConfigService.deleteDeploymentConfig(configId);
     }
+
+    @ExceptionHandler(DeploymentConfigBatchException.class)
+    public ResponseEntity<BatchErrorResponse> handleBatchException(DeploymentConfigBatchException ex) {
+        return ResponseEntity.badRequest().body(new BatchErrorResponse(ex.getMessage(), ex.getErrors()));
+    }
+
+    record BatchErrorResponse(String message, List<ItemError> errors) {}
 }
@@ -2,16 +2,23 @@ package com.monitoring.dashboard.controller;
 
 import com.monitoring.dashboard.dto.InfraDetailDTO;
 import com.monitoring.dashboard.dto.InfrastructureDTO;
+import com.monitoring.dashboard.dto.MetricRangeDTO;
+import com.monitoring.dashboard.dto.MetricSampleBatchRequest;
+import com.monitoring.dashboard.dto.MetricSampleBatchResponse;
 import com.monitoring.dashboard.service.InfrastructureService;
+import com.monitoring.dashboard.service.MetricHistoryService;
+import com.monitoring.dashboard.service.MetricSampleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,6 +30,8 @@ import java.util.List;
 public class InfrastructureController {
 
     private final InfrastructureService infrastructureService;
+    private final MetricSampleService metricSampleService;
+    private final MetricHistoryService metricHistoryService;
 
     @GetMapping("/getAllInfrastructure")
     @Operation(summary = "Get all infrastructure", description = "Returns a list of all infrastructure")
@@ -123,6 +132,32 @@ public class InfrastructureController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/ingestMetricSamples")
+    @Operation(summary = "Ingest metric samples",
+               description = "Appends numeric usage samples (infraId, metricName, metricTime, value) in bulk. Samples already stored are skipped.")
+    public ResponseEntity<MetricSampleBatchResponse> ingestMetricSamples(@RequestBody MetricSampleBatchRequest request) {
+        log.info("POST /api/infrastructure/ingestMetricSamples - Received {} samples",
+                request.getSamples() != null ? request.getSamples().size() : 0);
+        return ResponseEntity.ok(metricSampleService.ingestSamples(request));
+    }
+
+    @GetMapping("/getMetricRange")
+    @Operation(summary = "Get metric history for a time range",
+               description = "Aggregates one usage metric (e.g. cpu_used) for one or more hosts over [from, to) in fixed steps. "
+                       + "aggregation is avg (default), max, min or p95. Returns a shared timestamps array (epoch millis) "
+                       + "and one values array per host.")
+    public ResponseEntity<MetricRangeDTO> getMetricRange(
+            @RequestParam List<Long> infraIds,
+            @RequestParam String metricName,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long stepSeconds,
+            @RequestParam(required = false, defaultValue = "avg") String aggregation) {
+        log.info("GET /api/infrastructure/getMetricRange - {} for {} host(s) from {} to {} step {}s ({})",
+                metricName, infraIds.size(), from, to, stepSeconds, aggregation);
+        return ResponseEntity.ok(metricHistoryService.getMetricRange(infraIds, metricName, from, to, stepSeconds, aggregation));
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
         log.error("Error in InfrastructureController: {}", ex.getMessage());
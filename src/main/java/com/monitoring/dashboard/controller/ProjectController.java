@@ -47,13 +47,8 @@ public class ProjectController {
      */
     @GetMapping("/getProjectById/{id}")
     public ResponseEntity<ProjectSummaryDTO> getProjectById(@PathVariable Long id) {
-        // For now, return from the list
-        List<ProjectSummaryDTO> projects = projectService.getAllProjectSummaries();
-        ProjectSummaryDTO project = projects.stream()
-            .filter(p -> p.getId().equals(id))
-            .findFirst()
-            .orElse(null);
-        
+        ProjectSummaryDTO project = projectService.getProjectSummary(id);
+
         if (project != null) {
             return ResponseEntity.ok(project);
         } else {
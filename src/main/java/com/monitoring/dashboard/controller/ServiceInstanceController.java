@@ -1,17 +1,26 @@
 package com.monitoring.dashboard.controller;
 
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest;
+import com.monitoring.dashboard.dto.HeartbeatBatchResponse;
+import com.monitoring.dashboard.dto.ServiceActionJobDTO;
 import com.monitoring.dashboard.dto.ServiceActionRequest;
 import com.monitoring.dashboard.dto.ServiceActionResponse;
 import com.monitoring.dashboard.dto.ServiceInstanceDTO;
+import com.monitoring.dashboard.dto.ServiceInstancePageDTO;
+import com.monitoring.dashboard.service.ServiceInstanceHeartbeatService;
 import com.monitoring.dashboard.service.ServiceInstanceService;
+import com.monitoring.dashboard.service.ServiceInstanceStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -27,6 +36,8 @@ import java.util.List;
 public class ServiceInstanceController {
 
     private final ServiceInstanceService serviceInstanceService;
+    private final ServiceInstanceStreamService serviceInstanceStreamService;
+    private final ServiceInstanceHeartbeatService serviceInstanceHeartbeatService;
 
     /**
      * Get all service instances.
@@ -40,6 +51,33 @@ public class ServiceInstanceController {
         return ResponseEntity.ok(instances);
     }
 
+    /**
+     * Export all service instances as newline-delimited JSON.
+     */
+    @GetMapping(value = "/exportServiceInstances", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all service instances as NDJSON",
+               description = "Streams every service instance, one JSON object per line, for audit and CMDB sync")
+    public ResponseEntity<StreamingResponseBody> exportServiceInstances() {
+        log.info("GET /api/services/exportServiceInstances - Streaming all service instances");
+        StreamingResponseBody body = serviceInstanceService::exportServiceInstances;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Stream service instance changes as Server-Sent Events.
+     */
+    @GetMapping(value = "/streamServiceInstanceChanges", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream service instance changes",
+               description = "Pushes an 'instance' event with status/uptime/version whenever a service instance is saved or deleted. Optionally filtered by project and/or profile.")
+    public SseEmitter streamServiceInstanceChanges(
+            @Parameter(description = "Project ID") @RequestParam(required = false) Long projectId,
+            @Parameter(description = "Profile (e.g., apacqa, emeauat)") @RequestParam(required = false) String profile) {
+        log.info("GET /api/services/streamServiceInstanceChanges - projectId={}, profile={}", projectId, profile);
+        return serviceInstanceStreamService.subscribe(projectId, profile);
+    }
+
     /**
      * Get service instance by ID.
      */
@@ -130,6 +168,27 @@ public class ServiceInstanceController {
         return ResponseEntity.ok(instances);
     }
 
+    /**
+     * Get one page of service instances.
+     */
+    @GetMapping("/getServiceInstancesPage")
+    @Operation(summary = "Get a page of service instances",
+               description = "Keyset-paginated listing ordered by component, host and instance. Pass nextCursor from the previous page to continue.")
+    public ResponseEntity<ServiceInstancePageDTO> getServiceInstancesPage(
+            @Parameter(description = "Continuation token returned as nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (1-1000)") @RequestParam(defaultValue = "200") int limit,
+            @Parameter(description = "Project ID") @RequestParam(required = false) Long projectId,
+            @Parameter(description = "Status (running, stopped, not-deployed, ...)") @RequestParam(required = false) String status,
+            @Parameter(description = "Profile (e.g., apacqa, emeauat)") @RequestParam(required = false) String profile,
+            @Parameter(description = "Infrastructure type (linux, windows, ecs)") @RequestParam(required = false) String infraType) {
+        log.info("GET /api/services/getServiceInstancesPage - limit={}, projectId={}, status={}, profile={}, infraType={}",
+                limit, projectId, status, profile, infraType);
+        ServiceInstancePageDTO page = serviceInstanceService.getServiceInstancesPage(
+                cursor, limit, projectId, status, profile, infraType);
+        log.info("Returning {} instances (hasMore={})", page.getItems().size(), page.isHasMore());
+        return ResponseEntity.ok(page);
+    }
+
     /**
      * Create a new service instance.
      */
@@ -198,4 +257,66 @@ public class ServiceInstanceController {
         
         return ResponseEntity.ok(responses);
     }
+
+    /**
+     * Ingest a batch of runtime heartbeats from agents.
+     */
+    @PostMapping("/ingestHeartbeats")
+    @Operation(summary = "Ingest agent heartbeats",
+               description = "Applies status/uptime/version heartbeats for many instances in one call. Duplicates are coalesced to the latest heartbeat per instance; stale heartbeats are skipped.")
+    public ResponseEntity<HeartbeatBatchResponse> ingestHeartbeats(@RequestBody HeartbeatBatchRequest request) {
+        log.info("POST /api/services/ingestHeartbeats - Received {} heartbeats",
+                request.getHeartbeats() != null ? request.getHeartbeats().size() : 0);
+        return ResponseEntity.ok(serviceInstanceHeartbeatService.ingestHeartbeats(request));
+    }
+
+    /**
+     * Start multiple service instances asynchronously.
+     */
+    @PostMapping("/startServiceInstancesAsync")
+    @Operation(summary = "Start service instances asynchronously",
+               description = "Submits a start job and returns immediately with its job ID. Poll getServiceActionJob for progress.")
+    public ResponseEntity<ServiceActionJobDTO> startServiceInstancesAsync(
+            @RequestBody ServiceActionRequest request) {
+        log.info("POST /api/services/startServiceInstancesAsync - Submitting start for {} service instances", request.getInstanceIds().size());
+        ServiceActionJobDTO job = serviceInstanceService.submitStartServiceInstances(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Stop multiple service instances asynchronously.
+     */
+    @PostMapping("/stopServiceInstancesAsync")
+    @Operation(summary = "Stop service instances asynchronously",
+               description = "Submits a stop job and returns immediately with its job ID. Poll getServiceActionJob for progress.")
+    public ResponseEntity<ServiceActionJobDTO> stopServiceInstancesAsync(
+            @RequestBody ServiceActionRequest request) {
+        log.info("POST /api/services/stopServiceInstancesAsync - Submitting stop for {} service instances", request.getInstanceIds().size());
+        ServiceActionJobDTO job = serviceInstanceService.submitStopServiceInstances(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * Get the progress of a start/stop job.
+     */
+    @GetMapping("/getServiceActionJob/{jobId}")
+    @Operation(summary = "Get service action job", description = "Retrieves progress and per-instance results of an asynchronous start/stop job")
+    public ResponseEntity<ServiceActionJobDTO> getServiceActionJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId) {
+        log.info("GET /api/services/getServiceActionJob/{} - Fetching job", jobId);
+        try {
+            return ResponseEntity.ok(serviceInstanceService.getServiceActionJob(jobId));
+        } catch (RuntimeException e) {
+            log.warn("Service action job not found: {}", jobId);
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
+        log.error("Error in ServiceInstanceController: {}", ex.getMessage());
+        return ResponseEntity.badRequest().body(new ErrorResponse(ex.getMessage()));
+    }
+
+    record ErrorResponse(String message) {}
 }
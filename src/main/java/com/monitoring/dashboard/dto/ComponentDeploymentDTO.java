@@ -0,0 +1,44 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A deployment config flattened for the deployment mapping screen (frontend ApiComponentDeployment).
+ * Read with a JPQL constructor projection, so no entities (and no deployParams LOB) are loaded;
+ * dynamicParams is filled from DeployParamsCache.
+ */
+@Data
+@NoArgsConstructor
+public class ComponentDeploymentDTO {
+    private Long configId;
+    private Long componentId;
+    private String componentName;
+    private Long infraId;
+    private String infraType;
+    private String profile;
+    private Integer port;          // base port of the config
+    private String hostname;
+    private String environment;
+    private String region;
+    private Long version;
+    private Map<String, String> dynamicParams;
+
+    public ComponentDeploymentDTO(Long configId, Long componentId, String componentName, Long infraId, String infraType,
+                                  String profile, Integer port, String hostname, String environment, String region,
+                                  Long version) {
+        this.configId = configId;
+        this.componentId = componentId;
+        this.componentName = componentName;
+        this.infraId = infraId;
+        this.infraType = infraType;
+        this.profile = profile;
+        this.port = port;
+        this.hostname = hostname;
+        this.environment = environment;
+        this.region = region;
+        this.version = version;
+    }
+}
@@ -0,0 +1,39 @@
+package com.monitoring.dashboard.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the Component -> DeploymentConfig -> Infrastructure -> ProjectProfiles -> ServiceInstance join.
+ * Built directly by the JPQL constructor expressions in ServiceInstanceRepository.
+ * Config, infrastructure, profile and instance fields are null when the LEFT JOIN finds no match.
+ */
+public record DeploymentDataRow(
+        // Component
+        Long componentId,
+        String componentName,
+        String description,
+        String module,
+        // Deployment config
+        Long configId,
+        Integer basePort,
+        Boolean enabled,
+        // Infrastructure
+        Long infraId,
+        String hostname,
+        String infraType,
+        String environment,
+        String region,
+        // Profile
+        String profileCode,
+        // Service instance
+        String instanceId,
+        String serviceName,
+        String machineName,
+        Integer port,
+        String profile,
+        String version,
+        Integer uptimeSeconds,
+        String status,
+        LocalDateTime deployedAt,
+        LocalDateTime lastUpdated) {
+}
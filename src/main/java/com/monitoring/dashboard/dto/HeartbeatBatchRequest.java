@@ -0,0 +1,27 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batch of runtime heartbeats reported by agents.
+ */
+@Data
+public class HeartbeatBatchRequest {
+    private List<Heartbeat> heartbeats;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Heartbeat {
+        private String instanceId;
+        private String status;          // running, degraded, stopped, ...
+        private Integer uptimeSeconds;
+        private String version;
+        private LocalDateTime timestamp; // when the agent observed this state; defaults to receive time
+    }
+}
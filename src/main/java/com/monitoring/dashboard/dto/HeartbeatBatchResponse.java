@@ -0,0 +1,22 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a heartbeat batch ingest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeartbeatBatchResponse {
+    private int received;           // heartbeats in the request
+    private int invalid;            // heartbeats without an instanceId
+    private int coalesced;          // distinct instances after keeping the latest heartbeat per instance
+    private int applied;            // rows updated
+    private int buffered;           // parked in the write-behind buffer, written on the next flush
+    private int skipped;            // unknown instances or heartbeats older than the stored state
+    private long durationMs;
+    private double heartbeatsPerSecond;
+}
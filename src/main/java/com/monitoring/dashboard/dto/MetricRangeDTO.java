@@ -0,0 +1,33 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Columnar history of one metric for one or more hosts.
+ * All series share the same {@code timestamps} (bucket starts, epoch millis); each series holds one
+ * value per timestamp, null where the host reported nothing in that step.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricRangeDTO {
+    private String metricName;
+    private String unit;
+    private String aggregation;     // avg, max, min, p95
+    private String resolution;      // tier read: raw, 1m, 1h, 1d
+    private long stepSeconds;
+    private long[] timestamps;
+    private List<Series> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Series {
+        private Long infraId;
+        private Double[] values;
+    }
+}
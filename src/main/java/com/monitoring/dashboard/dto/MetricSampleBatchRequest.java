@@ -0,0 +1,27 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batch of infrastructure metric samples to append.
+ */
+@Data
+public class MetricSampleBatchRequest {
+    private List<Sample> samples;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sample {
+        private Long infraId;
+        private String metricName;        // cpu_used, memory_used, disk_used, limit_cpu_used, pod_used, etc.
+        private String unit;              // only used the first time a metric name is seen
+        private LocalDateTime metricTime; // defaults to receive time
+        private Double value;
+    }
+}
@@ -0,0 +1,20 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the result of a metric sample batch ingest.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricSampleBatchResponse {
+    private int received;
+    private int invalid;        // missing fields, non-finite values or unknown infraId
+    private int inserted;
+    private int duplicates;     // (infraId, metricName, metricTime) already stored
+    private long durationMs;
+    private double samplesPerSecond;
+}
@@ -0,0 +1,28 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for an asynchronous start/stop job and its per-instance results.
+ * Results for instances that have not finished yet are omitted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceActionJobDTO {
+    private String jobId;
+    private String action;      // start, stop
+    private String status;      // IN_PROGRESS, COMPLETED
+    private int total;
+    private int completed;
+    private int succeeded;
+    private int failed;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+    private List<ServiceActionResponse> results;
+}
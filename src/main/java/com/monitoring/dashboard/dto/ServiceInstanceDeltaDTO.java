@@ -0,0 +1,28 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a single service instance change pushed to dashboard subscribers.
+ * Carries only the runtime fields that change after deployment; deleted instances
+ * are sent with {@code deleted = true}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceInstanceDeltaDTO {
+    private String instanceId;
+    private Long projectId;
+    private String serviceName;
+    private String machineName;
+    private String profile;
+    private String status;
+    private Integer uptimeSeconds;
+    private String version;
+    private LocalDateTime lastUpdated;
+    private boolean deleted;
+}
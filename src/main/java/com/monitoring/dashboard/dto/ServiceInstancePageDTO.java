@@ -0,0 +1,20 @@
+package com.monitoring.dashboard.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated service instance listing.
+ * Pass nextCursor back as the cursor parameter to fetch the following page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceInstancePageDTO {
+    private List<ServiceInstanceDTO> items;
+    private String nextCursor;  // null when this is the last page
+    private boolean hasMore;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "ops_deployment_configs",
@@ -20,8 +21,10 @@ import java.util.List;
 @AllArgsConstructor
 public class DeploymentConfig {
 
+    // Pooled sequence rather than IDENTITY so inserts can be JDBC-batched (hibernate.jdbc.batch_size)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "deployment_config_seq")
+    @SequenceGenerator(name = "deployment_config_seq", sequenceName = "ops_deployment_configs_seq", allocationSize = 50)
     @Column(name = "configId")
     private Long configId;
 
@@ -38,11 +41,29 @@ public class DeploymentConfig {
     @Column(name = "basePort")
     private Integer basePort; // Starting port number for instances
 
-    @Lob
-    @Column(name = "deployParams", columnDefinition = "BLOB")
-    private byte[] deployParams; // JSON blob storing deployment parameters including:
-                                  // For ECS: minPods, maxPods, cpuRequest, cpuLimit, memoryRequest, memoryLimit
-                                  // For VM: instanceCount, heapSize, threads, etc.
+    // The full deployParams JSON lives in ops_deployment_config_params (DeploymentConfigParams) so it is never
+    // loaded with the config. Typed copies of the well-known keys are kept here, filled by applyDeployParams
+    // whenever the JSON is written; instance counts and sizing are read from them instead of parsing the JSON.
+    @Column(name = "instanceCount")
+    private Integer instanceCount;
+
+    @Column(name = "minPods")
+    private Integer minPods;
+
+    @Column(name = "maxPods")
+    private Integer maxPods;
+
+    @Column(name = "cpuRequest", length = 20)
+    private String cpuRequest;
+
+    @Column(name = "cpuLimit", length = 20)
+    private String cpuLimit;
+
+    @Column(name = "memoryRequest", length = 20)
+    private String memoryRequest;
+
+    @Column(name = "memoryLimit", length = 20)
+    private String memoryLimit;
 
     @Column(name = "enabled", nullable = false)
     private Boolean enabled = true;
@@ -57,4 +78,43 @@ public class DeploymentConfig {
 
     @OneToMany(mappedBy = "deploymentConfig", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ServiceInstance> serviceInstances = new ArrayList<>();
+
+    /**
+     * Copy the well-known deployment parameters into their typed columns (null when absent or not a number).
+     * Accepts the camelCase keys sent by the UI and the upper-case keys used by seeded configs.
+     */
+    public void applyDeployParams(Map<String, ?> params) {
+        instanceCount = intParam(params, "instanceCount", "INSTANCE_COUNT");
+        minPods = intParam(params, "minPods", "MIN_POD");
+        maxPods = intParam(params, "maxPods", "MAX_POD");
+        cpuRequest = stringParam(params, "cpuRequest", "REQ_CPU");
+        cpuLimit = stringParam(params, "cpuLimit", "LIMIT_CPU");
+        memoryRequest = stringParam(params, "memoryRequest", "REQ_MEMORY");
+        memoryLimit = stringParam(params, "memoryLimit", "LIMIT_MEMORY", "MAX_MEMORY");
+    }
+
+    private static String stringParam(Map<String, ?> params, String... keys) {
+        if (params == null) {
+            return null;
+        }
+        for (String key : keys) {
+            Object value = params.get(key);
+            if (value != null && !value.toString().isBlank()) {
+                return value.toString().trim();
+            }
+        }
+        return null;
+    }
+
+    private static Integer intParam(Map<String, ?> params, String... keys) {
+        String value = stringParam(params, keys);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package com.monitoring.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Deployment parameters of a {@link DeploymentConfig} as a JSON BLOB, split into a side table that shares
+ * the config's primary key. DeploymentConfig has no association to it, so loading configs for listing,
+ * profile resolution or instance creation never reads the LOB; it is fetched by id only when the full
+ * parameter map is needed (see DeployParamsCache). Rows are removed with their config by ON DELETE CASCADE.
+ * There is no @Version here: writes force-increment the owning config's version instead.
+ */
+@Entity
+@Table(name = "ops_deployment_config_params")
+@Data
+@NoArgsConstructor
+public class DeploymentConfigParams {
+
+    @Id
+    @Column(name = "configId")
+    private Long configId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "configId")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private DeploymentConfig config;
+
+    @Lob
+    @Column(name = "deployParams", columnDefinition = "BLOB", nullable = false)
+    private byte[] deployParams; // JSON: for ECS minPods, maxPods, cpu/memory request+limit; for VM instanceCount, heapSize, threads, etc.
+
+    public DeploymentConfigParams(DeploymentConfig config, byte[] deployParams) {
+        this.config = config;
+        this.deployParams = deployParams;
+    }
+}
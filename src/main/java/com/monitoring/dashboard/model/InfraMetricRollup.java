@@ -0,0 +1,55 @@
+package com.monitoring.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate of the raw samples of one metric for one host over a fixed bucket
+ * (1 minute, 1 hour or 1 day, see {@link MetricResolution}).
+ * Written by MetricRollupService once a bucket has closed; never updated afterwards.
+ * The primary key leads with (infraId, metricNameId, resolution) so range reads for a chart are a single index scan.
+ */
+@Entity
+@Table(name = "ops_infra_metric_rollups",
+       indexes = @Index(name = "idx_rollup_resolution_bucket", columnList = "resolution, bucketStart"))
+@IdClass(InfraMetricRollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfraMetricRollup {
+
+    @Id
+    @Column(name = "infraId")
+    private Long infraId;
+
+    @Id
+    @Column(name = "metricNameId")
+    private Integer metricNameId;
+
+    @Id
+    @Column(name = "resolution", length = 4)
+    private String resolution;  // 1m, 1h, 1d
+
+    @Id
+    @Column(name = "bucketStart")
+    private LocalDateTime bucketStart;
+
+    @Column(name = "minValue", nullable = false)
+    private double minValue;
+
+    @Column(name = "maxValue", nullable = false)
+    private double maxValue;
+
+    @Column(name = "avgValue", nullable = false)
+    private double avgValue;
+
+    @Column(name = "p95Value", nullable = false)
+    private double p95Value;
+
+    @Column(name = "sampleCount", nullable = false)
+    private int sampleCount;
+}
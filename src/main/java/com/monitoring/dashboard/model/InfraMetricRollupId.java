@@ -0,0 +1,21 @@
+package com.monitoring.dashboard.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Composite key of {@link InfraMetricRollup}: (infraId, metricNameId, resolution, bucketStart).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfraMetricRollupId implements Serializable {
+    private Long infraId;
+    private Integer metricNameId;
+    private String resolution;
+    private LocalDateTime bucketStart;
+}
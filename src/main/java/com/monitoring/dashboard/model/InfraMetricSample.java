@@ -0,0 +1,41 @@
+package com.monitoring.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One numeric observation of an infrastructure metric (usage over time).
+ * Append-only: rows are written in JDBC batches by MetricSampleService and never updated,
+ * so there is no @Version column and no entity association to Infrastructure.
+ * The primary key (infraId, metricNameId, metricTime) doubles as the range-scan index;
+ * idx_sample_time serves the rollup job and retention deletes, which scan by time across hosts.
+ * Limits and capacity (*_max, *_limit) stay in ops_infra_metrics.
+ */
+@Entity
+@Table(name = "ops_infra_metric_samples",
+       indexes = @Index(name = "idx_sample_time", columnList = "metricTime"))
+@IdClass(InfraMetricSampleId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfraMetricSample {
+
+    @Id
+    @Column(name = "infraId")
+    private Long infraId;
+
+    @Id
+    @Column(name = "metricNameId")
+    private Integer metricNameId;
+
+    @Id
+    @Column(name = "metricTime")
+    private LocalDateTime metricTime;
+
+    @Column(name = "metricValue", nullable = false)
+    private double metricValue;
+}
@@ -0,0 +1,20 @@
+package com.monitoring.dashboard.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Composite key of {@link InfraMetricSample}: (infraId, metricNameId, metricTime).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfraMetricSampleId implements Serializable {
+    private Long infraId;
+    private Integer metricNameId;
+    private LocalDateTime metricTime;
+}
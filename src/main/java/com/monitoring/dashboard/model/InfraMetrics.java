@@ -10,12 +10,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "ops_infra_metrics")
+@Table(name = "ops_infra_metrics",
+       indexes = @Index(name = "idx_infra_metrics_kind", columnList = "infraId, metricKind"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class InfraMetrics {
 
+    public static final String KIND_LIMIT = "limit";
+    public static final String KIND_MAX = "max";
+    public static final String KIND_USED = "used";
+    public static final String KIND_USAGE = "usage";
+    public static final String KIND_OTHER = "other";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "metricId")
@@ -32,6 +39,9 @@ public class InfraMetrics {
     @Column(name = "metricValue", nullable = false)
     private String metricValue;
 
+    @Column(name = "metricKind", nullable = false, length = 10)
+    private String metricKind;  // limit/max/used/usage/other, derived from metricName so lookups avoid LIKE scans
+
     @Column(name = "unit")
     private String unit;
 
@@ -44,4 +54,32 @@ public class InfraMetrics {
     @Version
     @Column(name = "version", nullable = false)
     private Long version = 0L;
+
+    @PrePersist
+    @PreUpdate
+    private void deriveMetricKind() {
+        metricKind = kindOf(metricName);
+    }
+
+    /**
+     * Discriminator for a metric name: the suffix _limit, _max or _used, or _usage anywhere in the name.
+     */
+    public static String kindOf(String metricName) {
+        if (metricName == null) {
+            return KIND_OTHER;
+        }
+        if (metricName.endsWith("_limit")) {
+            return KIND_LIMIT;
+        }
+        if (metricName.endsWith("_max")) {
+            return KIND_MAX;
+        }
+        if (metricName.endsWith("_used")) {
+            return KIND_USED;
+        }
+        if (metricName.contains("_usage")) {
+            return KIND_USAGE;
+        }
+        return KIND_OTHER;
+    }
 }
@@ -10,7 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "ops_infra")
+@Table(name = "ops_infra",
+       indexes = @Index(name = "idx_infra_per_id", columnList = "per_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,30 @@
+package com.monitoring.dashboard.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Dictionary of metric names used by {@link InfraMetricSample}.
+ * Samples store the small integer id instead of repeating the name string on every row.
+ */
+@Entity
+@Table(name = "ops_metric_names",
+       uniqueConstraints = @UniqueConstraint(name = "uk_metric_name", columnNames = "metricName"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricName {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "metricNameId")
+    private Integer metricNameId;
+
+    @Column(name = "metricName", nullable = false, length = 100)
+    private String metricName;  // cpu_used, memory_used, disk_used, limit_cpu_used, pod_used, etc.
+
+    @Column(name = "unit", length = 20)
+    private String unit;
+}
@@ -0,0 +1,41 @@
+package com.monitoring.dashboard.model;
+
+/**
+ * Resolutions at which infrastructure usage history is kept.
+ * RAW is the sample table itself; the other tiers are rollups in ops_infra_metric_rollups.
+ */
+public enum MetricResolution {
+
+    RAW("raw", 0),
+    MINUTE("1m", 60),
+    HOUR("1h", 3_600),
+    DAY("1d", 86_400);
+
+    private final String code;
+    private final long bucketSeconds;
+
+    MetricResolution(String code, long bucketSeconds) {
+        this.code = code;
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    /**
+     * Value stored in the resolution column of ops_infra_metric_rollups.
+     */
+    public String getCode() {
+        return code;
+    }
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public static MetricResolution fromCode(String code) {
+        for (MetricResolution resolution : values()) {
+            if (resolution.code.equalsIgnoreCase(code)) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("Unknown metric resolution: " + code);
+    }
+}
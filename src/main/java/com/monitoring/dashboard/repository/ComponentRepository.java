@@ -2,6 +2,8 @@ package com.monitoring.dashboard.repository;
 
 import com.monitoring.dashboard.model.Component;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,12 @@ public interface ComponentRepository extends JpaRepository<Component, Long> {
     List<Component> findByModule(String module);
     boolean existsByComponentName(String componentName);
     List<Component> findByProject_ProjectId(Long projectId);
+
+    /**
+     * (projectId, component count) for every project that has components.
+     */
+    @Query("SELECT c.project.projectId, COUNT(c) FROM Component c GROUP BY c.project.projectId")
+    List<Object[]> countByProject();
+
+    long countByProject_ProjectId(Long projectId);
 }
@@ -0,0 +1,17 @@
+package com.monitoring.dashboard.repository;
+
+import com.monitoring.dashboard.model.DeploymentConfigParams;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DeploymentConfigParamsRepository extends JpaRepository<DeploymentConfigParams, Long> {
+
+    @Query("SELECT p FROM DeploymentConfigParams p WHERE p.configId IN :configIds")
+    List<DeploymentConfigParams> findByConfigIds(@Param("configIds") Collection<Long> configIds);
+}
@@ -1,9 +1,13 @@
 package com.monitoring.dashboard.repository;
 
+import com.monitoring.dashboard.dto.ComponentDeploymentDTO;
 import com.monitoring.dashboard.model.DeploymentConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,4 +19,30 @@ public interface DeploymentConfigRepository extends JpaRepository<DeploymentConf
 
     // Find all deployment configs for components belonging to a project
     List<DeploymentConfig> findByComponent_Project_ProjectId(Long projectId);
+
+    /**
+     * Deployment configs of a project flattened for the mapping screen, without loading entities.
+     */
+    @Query("""
+        SELECT new com.monitoring.dashboard.dto.ComponentDeploymentDTO(
+               dc.configId, c.componentId, c.componentName, i.infraId, i.infraType, p.profileCode,
+               dc.basePort, i.hostname, i.environment, i.region, dc.version)
+        FROM DeploymentConfig dc
+        JOIN dc.component c
+        JOIN dc.infrastructure i
+        LEFT JOIN dc.profile p
+        WHERE c.project.projectId = :projectId
+        ORDER BY c.componentName, i.hostname
+    """)
+    List<ComponentDeploymentDTO> findDeploymentsByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * (componentId, infraId) of existing configs for any of the given components, used to reject duplicates up front.
+     */
+    @Query("""
+        SELECT dc.component.componentId, dc.infrastructure.infraId
+        FROM DeploymentConfig dc
+        WHERE dc.component.componentId IN :componentIds
+    """)
+    List<Object[]> findComponentInfraPairs(@Param("componentIds") Collection<Long> componentIds);
 }
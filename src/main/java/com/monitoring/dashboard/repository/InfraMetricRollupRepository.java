@@ -0,0 +1,38 @@
+package com.monitoring.dashboard.repository;
+
+import com.monitoring.dashboard.model.InfraMetricRollup;
+import com.monitoring.dashboard.model.InfraMetricRollupId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InfraMetricRollupRepository extends JpaRepository<InfraMetricRollup, InfraMetricRollupId> {
+
+    /**
+     * Buckets of one metric for one host at one resolution with bucketStart in [from, to), oldest first.
+     */
+    @Query("""
+        SELECT r FROM InfraMetricRollup r
+        WHERE r.infraId = :infraId AND r.metricNameId = :metricNameId AND r.resolution = :resolution
+          AND r.bucketStart >= :from AND r.bucketStart < :to
+        ORDER BY r.bucketStart
+    """)
+    List<InfraMetricRollup> findRange(@Param("infraId") Long infraId,
+                                      @Param("metricNameId") Integer metricNameId,
+                                      @Param("resolution") String resolution,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    @Query("SELECT MAX(r.bucketStart) FROM InfraMetricRollup r WHERE r.resolution = :resolution")
+    LocalDateTime findLatestBucketStart(@Param("resolution") String resolution);
+
+    @Modifying
+    @Query("DELETE FROM InfraMetricRollup r WHERE r.infraId = :infraId")
+    int deleteByInfraId(@Param("infraId") Long infraId);
+}
@@ -0,0 +1,70 @@
+package com.monitoring.dashboard.repository;
+
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.InfraMetricSampleId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InfraMetricSampleRepository extends JpaRepository<InfraMetricSample, InfraMetricSampleId> {
+
+    /**
+     * Samples of one metric for one host in [from, to), oldest first. Served by the primary key index.
+     */
+    @Query("""
+        SELECT s FROM InfraMetricSample s
+        WHERE s.infraId = :infraId AND s.metricNameId = :metricNameId
+          AND s.metricTime >= :from AND s.metricTime < :to
+        ORDER BY s.metricTime
+    """)
+    List<InfraMetricSample> findRange(@Param("infraId") Long infraId,
+                                      @Param("metricNameId") Integer metricNameId,
+                                      @Param("from") LocalDateTime from,
+                                      @Param("to") LocalDateTime to);
+
+    /**
+     * Most recent sample of every metric reported for a host.
+     */
+    @Query("""
+        SELECT s FROM InfraMetricSample s
+        WHERE s.infraId = :infraId
+          AND s.metricTime = (SELECT MAX(s2.metricTime) FROM InfraMetricSample s2
+                              WHERE s2.infraId = s.infraId AND s2.metricNameId = s.metricNameId)
+    """)
+    List<InfraMetricSample> findLatestByInfraId(@Param("infraId") Long infraId);
+
+    /**
+     * Most recent sample of every metric for a set of hosts, in one query.
+     */
+    @Query("""
+        SELECT s FROM InfraMetricSample s
+        WHERE s.infraId IN :infraIds
+          AND s.metricTime = (SELECT MAX(s2.metricTime) FROM InfraMetricSample s2
+                              WHERE s2.infraId = s.infraId AND s2.metricNameId = s.metricNameId)
+    """)
+    List<InfraMetricSample> findLatestByInfraIds(@Param("infraIds") Collection<Long> infraIds);
+
+    /**
+     * Most recent sample of every metric for every host.
+     */
+    @Query("""
+        SELECT s FROM InfraMetricSample s
+        WHERE s.metricTime = (SELECT MAX(s2.metricTime) FROM InfraMetricSample s2
+                              WHERE s2.infraId = s.infraId AND s2.metricNameId = s.metricNameId)
+    """)
+    List<InfraMetricSample> findLatestAll();
+
+    @Query("SELECT MIN(s.metricTime) FROM InfraMetricSample s")
+    LocalDateTime findEarliestMetricTime();
+
+    @Modifying
+    @Query("DELETE FROM InfraMetricSample s WHERE s.infraId = :infraId")
+    int deleteByInfraId(@Param("infraId") Long infraId);
+}
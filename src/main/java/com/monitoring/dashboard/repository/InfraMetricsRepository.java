@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,13 +15,25 @@ public interface InfraMetricsRepository extends JpaRepository<InfraMetrics, Long
 
     List<InfraMetrics> findByInfrastructure_InfraId(Long infraId);
 
-    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricName LIKE '%_limit'")
+    @Query("SELECT im FROM InfraMetrics im JOIN FETCH im.infrastructure WHERE im.metricKind = :metricKind")
+    List<InfraMetrics> findByMetricKind(@Param("metricKind") String metricKind);
+
+    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId IN :infraIds")
+    List<InfraMetrics> findByInfraIds(@Param("infraIds") Collection<Long> infraIds);
+
+    /**
+     * Metrics of one kind (see {@link InfraMetrics#kindOf}) for a set of hosts, served by idx_infra_metrics_kind.
+     */
+    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId IN :infraIds AND im.metricKind = :metricKind")
+    List<InfraMetrics> findByInfraIdsAndMetricKind(@Param("infraIds") Collection<Long> infraIds,
+                                                   @Param("metricKind") String metricKind);
+
+    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricKind = 'limit'")
     List<InfraMetrics> findLimitsByInfraId(@Param("infraId") Long infraId);
 
-    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricName LIKE '%_usage%'")
+    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricKind = 'usage'")
     List<InfraMetrics> findUsageMetricsByInfraId(@Param("infraId") Long infraId);
 
-    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricDate = :date AND im.metricName LIKE '%_usage%'")
+    @Query("SELECT im FROM InfraMetrics im WHERE im.infrastructure.infraId = :infraId AND im.metricDate = :date AND im.metricKind = 'usage'")
     List<InfraMetrics> findLatestMetricsForInfra(@Param("infraId") Long infraId, @Param("date") LocalDate date);
 }
-
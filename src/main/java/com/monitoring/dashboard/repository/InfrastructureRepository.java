@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -39,4 +40,106 @@ public interface InfrastructureRepository extends JpaRepository<Infrastructure,
     boolean existsByHostname(String hostname);
 
     Optional<Infrastructure> findByInfraName(String infraName);
+
+    /**
+     * List/detail loaders: fetch the mapping with its project, environment, region and profiles in the
+     * same query so building DTOs does not trigger one lazy/eager load per host.
+     */
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        LEFT JOIN FETCH i.projectEnvironmentMapping m
+        LEFT JOIN FETCH m.project
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+    """)
+    List<Infrastructure> findAllForDetails();
+
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        LEFT JOIN FETCH i.projectEnvironmentMapping m
+        LEFT JOIN FETCH m.project
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+        WHERE i.infraType = :infraType
+    """)
+    List<Infrastructure> findByInfraTypeForDetails(@Param("infraType") String infraType);
+
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        LEFT JOIN FETCH i.projectEnvironmentMapping m
+        LEFT JOIN FETCH m.project
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+        WHERE i.environment = :environment
+    """)
+    List<Infrastructure> findByEnvironmentForDetails(@Param("environment") String environment);
+
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        JOIN FETCH i.projectEnvironmentMapping m
+        JOIN FETCH m.project p
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+        WHERE p.projectId = :projectId
+    """)
+    List<Infrastructure> findByProjectIdForDetails(@Param("projectId") Long projectId);
+
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        LEFT JOIN FETCH i.projectEnvironmentMapping m
+        LEFT JOIN FETCH m.project
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+        WHERE i.infraId = :infraId
+    """)
+    Optional<Infrastructure> findByIdForDetails(@Param("infraId") Long infraId);
+
+    @Query("""
+        SELECT DISTINCT i FROM Infrastructure i
+        LEFT JOIN FETCH i.projectEnvironmentMapping m
+        LEFT JOIN FETCH m.project
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        LEFT JOIN FETCH m.profiles
+        WHERE i.infraId IN :infraIds
+    """)
+    List<Infrastructure> findByIdsForDetails(@Param("infraIds") Collection<Long> infraIds);
+
+    /**
+     * (projectId, environment, infraType, status, count) for every project, aggregated in the database.
+     */
+    @Query("""
+        SELECT m.project.projectId, i.environment, i.infraType, i.status, COUNT(i)
+        FROM Infrastructure i JOIN i.projectEnvironmentMapping m
+        GROUP BY m.project.projectId, i.environment, i.infraType, i.status
+    """)
+    List<Object[]> countByProjectEnvironmentTypeAndStatus();
+
+    /**
+     * (projectId, environment, infraType, status, count) for one project.
+     */
+    @Query("""
+        SELECT m.project.projectId, i.environment, i.infraType, i.status, COUNT(i)
+        FROM Infrastructure i JOIN i.projectEnvironmentMapping m
+        WHERE m.project.projectId = :projectId
+        GROUP BY m.project.projectId, i.environment, i.infraType, i.status
+    """)
+    List<Object[]> countByEnvironmentTypeAndStatusForProject(@Param("projectId") Long projectId);
+
+    /**
+     * (infraId, status) of every host.
+     */
+    @Query("SELECT i.infraId, i.status FROM Infrastructure i")
+    List<Object[]> findAllStatuses();
+
+    @Query("SELECT DISTINCT m.project.projectId FROM Infrastructure i JOIN i.projectEnvironmentMapping m WHERE i.infraId IN :infraIds")
+    List<Long> findProjectIdsByInfraIds(@Param("infraIds") Collection<Long> infraIds);
+
+    @Query("SELECT i.infraId FROM Infrastructure i WHERE i.infraId IN :infraIds")
+    List<Long> findExistingInfraIds(@Param("infraIds") Collection<Long> infraIds);
 }
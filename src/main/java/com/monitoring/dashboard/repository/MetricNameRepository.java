@@ -0,0 +1,13 @@
+package com.monitoring.dashboard.repository;
+
+import com.monitoring.dashboard.model.MetricName;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MetricNameRepository extends JpaRepository<MetricName, Integer> {
+
+    Optional<MetricName> findByMetricName(String metricName);
+}
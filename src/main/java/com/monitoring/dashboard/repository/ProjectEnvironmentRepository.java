@@ -2,8 +2,11 @@ package com.monitoring.dashboard.repository;
 
 import com.monitoring.dashboard.model.ProjectProfiles;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,12 +24,59 @@ public interface ProjectEnvironmentRepository extends JpaRepository<ProjectProfi
 
     List<ProjectProfiles> findByProfileCode(String profileCode);
 
+    /**
+     * Fetch (profileCode, envCode) pairs for every profile, ordered by profile id.
+     */
+    @Query("""
+        SELECT p.profileCode, e.envCode
+        FROM ProjectProfiles p
+        JOIN p.projectEnvironmentMapping m
+        JOIN m.environment e
+        ORDER BY p.profileId
+    """)
+    List<Object[]> findAllProfileEnvCodes();
+
     Optional<ProjectProfiles> findByProjectEnvironmentMappingProjectProjectIdAndProjectEnvironmentMappingEnvironmentEnvCodeAndProjectEnvironmentMappingRegionRegionCodeAndProfileCode(
             Long projectId,
             String envCode,
             String regionCode,
             String profileCode);
 
+    /**
+     * Every profile of the given projects with its mapping, environment and region, for resolving many
+     * (project, env, region, profileCode) keys in one query.
+     */
+    @Query("""
+        SELECT p FROM ProjectProfiles p
+        JOIN FETCH p.projectEnvironmentMapping m
+        JOIN FETCH m.project pr
+        LEFT JOIN FETCH m.environment
+        LEFT JOIN FETCH m.region
+        WHERE pr.projectId IN :projectIds
+    """)
+    List<ProjectProfiles> findByProjectIdsWithMapping(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Profiles whose project-environment mapping has at least one host, filtered by any of project, environment
+     * and region (a null filter matches everything). Served by uq_per_unique (project_id, env_id, region_id),
+     * uq_profile_code (per_id, ...) and idx_infra_per_id.
+     */
+    @Query("""
+        SELECT p FROM ProjectProfiles p
+        JOIN FETCH p.projectEnvironmentMapping m
+        JOIN FETCH m.project pr
+        JOIN FETCH m.environment e
+        JOIN FETCH m.region r
+        WHERE (:projectId IS NULL OR pr.projectId = :projectId)
+          AND (:envId IS NULL OR e.envId = :envId)
+          AND (:regionId IS NULL OR r.regionId = :regionId)
+          AND EXISTS (SELECT 1 FROM Infrastructure i WHERE i.projectEnvironmentMapping = m)
+        ORDER BY p.profileId
+    """)
+    List<ProjectProfiles> findDeployableProfiles(@Param("projectId") Long projectId,
+                                                 @Param("envId") Integer envId,
+                                                 @Param("regionId") Integer regionId);
+
     List<ProjectProfiles> findByProjectEnvironmentMappingProjectProjectIdAndProjectEnvironmentMappingEnvironmentEnvCode(
             Long projectId,
             String envCode);
@@ -1,12 +1,20 @@
 package com.monitoring.dashboard.repository;
 
+import com.monitoring.dashboard.dto.DeploymentDataRow;
+import com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO;
 import com.monitoring.dashboard.model.ServiceInstance;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repository for ServiceInstance entities.
@@ -54,19 +62,53 @@ public interface ServiceInstanceRepository extends JpaRepository<ServiceInstance
      */
     List<ServiceInstance> findByDeploymentConfig_Component_Project_ProjectId(Long projectId);
 
+    /**
+     * Resolve instanceId, machineName and owning projectId for the given instances in one query.
+     * Used to route start/stop transitions per host and tag change events with their project.
+     */
+    @Query("""
+        SELECT si.instanceId, si.machineName, c.project.projectId
+        FROM ServiceInstance si
+        JOIN si.deploymentConfig dc
+        JOIN dc.component c
+        WHERE si.instanceId IN :instanceIds
+    """)
+    List<Object[]> findActionTargets(@Param("instanceIds") Collection<String> instanceIds);
+
+    /**
+     * The given instance ids that are already taken.
+     */
+    @Query("SELECT si.instanceId FROM ServiceInstance si WHERE si.instanceId IN :instanceIds")
+    List<String> findExistingInstanceIds(@Param("instanceIds") Collection<String> instanceIds);
+
+    /**
+     * Current runtime state of the given instances as change deltas, read without loading entities.
+     */
+    @Query("""
+        SELECT new com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO(
+               si.instanceId, c.project.projectId, si.serviceName, si.machineName, si.profile,
+               si.status, si.uptimeSeconds, si.version, si.lastUpdated, false)
+        FROM ServiceInstance si
+        JOIN si.deploymentConfig dc
+        JOIN dc.component c
+        WHERE si.instanceId IN :instanceIds
+    """)
+    List<ServiceInstanceDeltaDTO> findDeltasByInstanceIds(@Param("instanceIds") Collection<String> instanceIds);
+
     /**
      * Get all components with their deployment configs, infrastructure, and service instances for a project.
      * This query uses LEFT JOINs starting from Component to include ALL components,
      * even those without deployment configs or service instances.
-     * Returns data that can be used to generate service instance DTOs.
+     * Each row is projected straight into a {@link DeploymentDataRow}.
      */
     @Query("""
-        SELECT c.componentId, c.componentName, c.description, c.module,
+        SELECT new com.monitoring.dashboard.dto.DeploymentDataRow(
+               c.componentId, c.componentName, c.description, c.module,
                dc.configId, dc.basePort, dc.enabled,
                i.infraId, i.hostname, i.infraType, i.environment, i.region,
                p.profileCode,
                si.instanceId, si.serviceName, si.machineName, si.port, si.profile,
-               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated
+               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated)
         FROM Component c
         LEFT JOIN c.deploymentConfigs dc
         LEFT JOIN dc.infrastructure i
@@ -75,7 +117,7 @@ public interface ServiceInstanceRepository extends JpaRepository<ServiceInstance
         WHERE c.project.projectId = :projectId
         ORDER BY c.componentName, i.hostname
     """)
-    List<Object[]> findDeploymentDataByProjectId(@Param("projectId") Long projectId);
+    List<DeploymentDataRow> findDeploymentDataByProjectId(@Param("projectId") Long projectId);
 
     /**
      * Get all components with their deployment configs, infrastructure, and service instances (all projects).
@@ -83,12 +125,13 @@ public interface ServiceInstanceRepository extends JpaRepository<ServiceInstance
      * even those without deployment configs or service instances.
      */
     @Query("""
-        SELECT c.componentId, c.componentName, c.description, c.module,
+        SELECT new com.monitoring.dashboard.dto.DeploymentDataRow(
+               c.componentId, c.componentName, c.description, c.module,
                dc.configId, dc.basePort, dc.enabled,
                i.infraId, i.hostname, i.infraType, i.environment, i.region,
                p.profileCode,
                si.instanceId, si.serviceName, si.machineName, si.port, si.profile,
-               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated
+               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated)
         FROM Component c
         LEFT JOIN c.deploymentConfigs dc
         LEFT JOIN dc.infrastructure i
@@ -96,5 +139,72 @@ public interface ServiceInstanceRepository extends JpaRepository<ServiceInstance
         LEFT JOIN dc.serviceInstances si
         ORDER BY c.componentName, i.hostname
     """)
-    List<Object[]> findAllDeploymentData();
+    List<DeploymentDataRow> findAllDeploymentData();
+
+    /**
+     * Stream the deployment data of all deployed components (components with a deployment config).
+     * Rows are read through a JDBC cursor in fetch-size chunks instead of being materialised as a list.
+     * Must be consumed inside a read-only transaction and closed by the caller.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+        SELECT new com.monitoring.dashboard.dto.DeploymentDataRow(
+               c.componentId, c.componentName, c.description, c.module,
+               dc.configId, dc.basePort, dc.enabled,
+               i.infraId, i.hostname, i.infraType, i.environment, i.region,
+               p.profileCode,
+               si.instanceId, si.serviceName, si.machineName, si.port, si.profile,
+               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated)
+        FROM Component c
+        JOIN c.deploymentConfigs dc
+        JOIN dc.infrastructure i
+        LEFT JOIN dc.profile p
+        LEFT JOIN dc.serviceInstances si
+        ORDER BY c.componentName, i.hostname
+    """)
+    Stream<DeploymentDataRow> streamAllDeploymentData();
+
+    /**
+     * Keyset page over deployed components (components that have a deployment config), ordered by
+     * (componentName, hostname, instanceId, configId). Rows without a service instance use an empty instanceId
+     * so they sort first within their component/host group. Component names are not unique and every
+     * placeholder row has instanceId '', so configId breaks the remaining ties and makes the key unique.
+     * Null filters and a null cursor are ignored.
+     * The page size comes from the Pageable.
+     */
+    @Query("""
+        SELECT new com.monitoring.dashboard.dto.DeploymentDataRow(
+               c.componentId, c.componentName, c.description, c.module,
+               dc.configId, dc.basePort, dc.enabled,
+               i.infraId, i.hostname, i.infraType, i.environment, i.region,
+               p.profileCode,
+               si.instanceId, si.serviceName, si.machineName, si.port, si.profile,
+               si.version, si.uptimeSeconds, si.status, si.deployedAt, si.lastUpdated)
+        FROM Component c
+        JOIN c.deploymentConfigs dc
+        JOIN dc.infrastructure i
+        LEFT JOIN dc.profile p
+        LEFT JOIN dc.serviceInstances si
+        WHERE (:projectId IS NULL OR c.project.projectId = :projectId)
+          AND (:infraType IS NULL OR i.infraType = :infraType)
+          AND (:status IS NULL OR (CASE WHEN si.instanceId IS NULL THEN 'not-deployed' ELSE si.status END) = :status)
+          AND (:profile IS NULL OR COALESCE(si.profile, p.profileCode) = :profile)
+          AND (:afterComponent IS NULL
+               OR c.componentName > :afterComponent
+               OR (c.componentName = :afterComponent AND i.hostname > :afterHostname)
+               OR (c.componentName = :afterComponent AND i.hostname = :afterHostname
+                   AND COALESCE(si.instanceId, '') > :afterInstanceId)
+               OR (c.componentName = :afterComponent AND i.hostname = :afterHostname
+                   AND COALESCE(si.instanceId, '') = :afterInstanceId AND dc.configId > :afterConfigId))
+        ORDER BY c.componentName, i.hostname, COALESCE(si.instanceId, ''), dc.configId
+    """)
+    List<DeploymentDataRow> findDeploymentDataPage(@Param("projectId") Long projectId,
+                                                   @Param("status") String status,
+                                                   @Param("profile") String profile,
+                                                   @Param("infraType") String infraType,
+                                                   @Param("afterComponent") String afterComponent,
+                                                   @Param("afterHostname") String afterHostname,
+                                                   @Param("afterInstanceId") String afterInstanceId,
+                                                   @Param("afterConfigId") Long afterConfigId,
+                                                   Pageable pageable);
 }
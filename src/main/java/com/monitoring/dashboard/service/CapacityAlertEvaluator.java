@@ -0,0 +1,273 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.repository.InfrastructureRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives Infrastructure.status from capacity usage as samples arrive.
+ * For each *_used sample the usage percentage against the matching *_max capacity is read from
+ * {@link LatestMetricSnapshot} and run through a per-(host, metric) hysteresis state machine:
+ * healthy -> watch at watch-percent, watch -> scaling at scaling-percent, and each level is only
+ * left once usage drops hysteresis-percent below its entry threshold. A host takes the highest level
+ * of its metrics. Evaluation is in memory; changed statuses are written in one JDBC batch per flush.
+ */
+@Component
+@Slf4j
+public class CapacityAlertEvaluator {
+
+    static final String[] STATUS_BY_LEVEL = {"healthy", "watch", "scaling"};
+    private static final int UNKNOWN = -1;
+    private static final int NO_CAPACITY = -2;
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE ops_infra SET status = ?, version = version + 1 WHERE infra_id = ?";
+
+    private final LatestMetricSnapshot latestMetricSnapshot;
+    private final MetricNameDictionary metricNameDictionary;
+    private final InfrastructureRepository infrastructureRepository;
+    private final ProjectSummaryView projectSummaryView;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final double watchPercent;
+    private final double scalingPercent;
+    private final double hysteresisPercent;
+
+    private final Map<Long, HostState> hostStates = new ConcurrentHashMap<>();
+    private final Map<Long, String> pendingStatus = new ConcurrentHashMap<>();
+    // Capacity metric id for each *_used metric id; UNKNOWN until resolved, NO_CAPACITY if there is none.
+    // Copy-on-write so the per-sample lookup is a plain array read
+    private volatile int[] capacityIdByUsedId = new int[0];
+
+    public CapacityAlertEvaluator(LatestMetricSnapshot latestMetricSnapshot,
+                                  MetricNameDictionary metricNameDictionary,
+                                  InfrastructureRepository infrastructureRepository,
+                                  ProjectSummaryView projectSummaryView,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${capacity-alerts.enabled:true}") boolean enabled,
+                                  @Value("${capacity-alerts.watch-percent:75}") double watchPercent,
+                                  @Value("${capacity-alerts.scaling-percent:90}") double scalingPercent,
+                                  @Value("${capacity-alerts.hysteresis-percent:5}") double hysteresisPercent) {
+        if (watchPercent >= scalingPercent || hysteresisPercent < 0) {
+            throw new IllegalArgumentException("capacity-alerts requires watch-percent < scaling-percent and hysteresis-percent >= 0");
+        }
+        this.latestMetricSnapshot = latestMetricSnapshot;
+        this.metricNameDictionary = metricNameDictionary;
+        this.infrastructureRepository = infrastructureRepository;
+        this.projectSummaryView = projectSummaryView;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.watchPercent = watchPercent;
+        this.scalingPercent = scalingPercent;
+        this.hysteresisPercent = hysteresisPercent;
+    }
+
+    /**
+     * Seed host levels from the stored statuses, then evaluate everything in the (already warm) snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(10)
+    public void start() {
+        if (!enabled) {
+            log.info("Capacity alerting disabled");
+            return;
+        }
+        // Capacity names are registered while the snapshot warms; drop lookups cached before that
+        capacityIdByUsedId = new int[0];
+        List<Object[]> statuses = transactionTemplate.execute(status -> infrastructureRepository.findAllStatuses());
+        for (Object[] row : statuses) {
+            hostState((Long) row[0]).storedLevel = levelOf((String) row[1]);
+        }
+        for (Long infraId : latestMetricSnapshot.getHostIds()) {
+            latestMetricSnapshot.forEach(infraId, (metricName, value, timeMillis) ->
+                    evaluate(infraId, metricName.getMetricNameId()));
+        }
+        log.info("Capacity alerting started for {} hosts ({} status changes queued)", hostStates.size(), pendingStatus.size());
+    }
+
+    /**
+     * Re-evaluate the hosts and metrics touched by committed samples. Values are read from the snapshot,
+     * so it must have been updated with the same samples first.
+     */
+    public void evaluate(Collection<InfraMetricSample> samples) {
+        if (!enabled) {
+            return;
+        }
+        for (InfraMetricSample sample : samples) {
+            evaluate(sample.getInfraId(), sample.getMetricNameId());
+        }
+    }
+
+    /**
+     * Re-evaluate one metric of one host.
+     */
+    public void evaluate(long infraId, int usedMetricNameId) {
+        int capacityId = capacityIdFor(usedMetricNameId);
+        if (capacityId < 0) {
+            return;
+        }
+        double capacity = latestMetricSnapshot.getValue(infraId, capacityId);
+        double used = latestMetricSnapshot.getValue(infraId, usedMetricNameId);
+        if (!(capacity > 0) || Double.isNaN(used)) {
+            return;
+        }
+        double percent = used / capacity * 100.0;
+
+        HostState state = hostState(infraId);
+        synchronized (state) {
+            state.setMetricLevel(usedMetricNameId, nextLevel(state.metricLevel(usedMetricNameId), percent));
+            int hostLevel = state.hostLevel();
+            if (hostLevel == state.storedLevel) {
+                return;
+            }
+            state.storedLevel = hostLevel;
+            // Queue under the same lock so concurrent evaluations of a host cannot leave an older level queued
+            pendingStatus.put(infraId, STATUS_BY_LEVEL[hostLevel]);
+        }
+    }
+
+    /**
+     * Forget a deleted host.
+     */
+    public void removeHost(Long infraId) {
+        hostStates.remove(infraId);
+        pendingStatus.remove(infraId);
+    }
+
+    /**
+     * Write queued status changes in one transaction. On failure they are re-queued unless superseded.
+     */
+    @Scheduled(fixedDelayString = "${capacity-alerts.flush-interval-ms:1000}")
+    public void flush() {
+        if (pendingStatus.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>();
+        for (Long infraId : List.copyOf(pendingStatus.keySet())) {
+            String status = pendingStatus.remove(infraId);
+            if (status != null) {
+                args.add(new Object[] {status, infraId});
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (int from = 0; from < args.size(); from += BATCH_SIZE) {
+                    jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, args.subList(from, Math.min(from + BATCH_SIZE, args.size())));
+                }
+                List<Long> infraIds = args.stream().map(arg -> (Long) arg[1]).toList();
+                projectSummaryView.invalidate(infrastructureRepository.findProjectIdsByInfraIds(infraIds));
+            });
+            log.info("Updated capacity status of {} host(s)", args.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to update capacity status of {} host(s), retrying: {}", args.size(), e.getMessage());
+            args.forEach(arg -> pendingStatus.putIfAbsent((Long) arg[1], (String) arg[0]));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private int nextLevel(int current, double percent) {
+        if (percent >= scalingPercent || (current >= 2 && percent >= scalingPercent - hysteresisPercent)) {
+            return 2;
+        }
+        if (percent >= watchPercent || (current >= 1 && percent >= watchPercent - hysteresisPercent)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    private HostState hostState(Long infraId) {
+        return hostStates.computeIfAbsent(infraId, id -> new HostState());
+    }
+
+    private int capacityIdFor(int usedMetricNameId) {
+        int[] ids = capacityIdByUsedId;
+        if (usedMetricNameId < ids.length && ids[usedMetricNameId] != UNKNOWN) {
+            return ids[usedMetricNameId];
+        }
+        return resolveCapacityId(usedMetricNameId);
+    }
+
+    private synchronized int resolveCapacityId(int usedMetricNameId) {
+        int capacityId = NO_CAPACITY;
+        MetricName used = metricNameDictionary.byId(usedMetricNameId);
+        if (used != null && used.getMetricName().endsWith("_used")) {
+            String name = used.getMetricName();
+            MetricName capacity = metricNameDictionary.find(name.substring(0, name.length() - "_used".length()) + "_max");
+            if (capacity != null) {
+                capacityId = capacity.getMetricNameId();
+            }
+        }
+        int[] ids = capacityIdByUsedId;
+        if (usedMetricNameId >= ids.length) {
+            int oldLength = ids.length;
+            ids = Arrays.copyOf(ids, Math.max(usedMetricNameId + 1, oldLength * 2));
+            Arrays.fill(ids, oldLength, ids.length, UNKNOWN);
+        } else {
+            ids = ids.clone();
+        }
+        ids[usedMetricNameId] = capacityId;
+        capacityIdByUsedId = ids;
+        return capacityId;
+    }
+
+    private static int levelOf(String status) {
+        if (status != null) {
+            for (int level = 0; level < STATUS_BY_LEVEL.length; level++) {
+                if (STATUS_BY_LEVEL[level].equalsIgnoreCase(status)) {
+                    return level;
+                }
+            }
+        }
+        return UNKNOWN;
+    }
+
+    private static final class HostState {
+        private byte[] metricLevels = new byte[0];
+        private int storedLevel = UNKNOWN;
+
+        int metricLevel(int metricNameId) {
+            return metricNameId < metricLevels.length ? metricLevels[metricNameId] : 0;
+        }
+
+        void setMetricLevel(int metricNameId, int level) {
+            if (metricNameId >= metricLevels.length) {
+                metricLevels = Arrays.copyOf(metricLevels, Math.max(metricNameId + 1, metricLevels.length * 2));
+            }
+            metricLevels[metricNameId] = (byte) level;
+        }
+
+        int hostLevel() {
+            int level = 0;
+            for (byte metricLevel : metricLevels) {
+                level = Math.max(level, metricLevel);
+            }
+            return level;
+        }
+    }
+}
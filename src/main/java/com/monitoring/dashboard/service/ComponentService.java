@@ -1,7 +1,5 @@
 package com.monitoring.dashboard.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.monitoring.dashboard.dto.ComponentDTO;
 import com.monitoring.dashboard.dto.ComponentWithServicesDTO;
 import com.monitoring.dashboard.model.Component;
@@ -16,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,7 +25,8 @@ import java.util.stream.Collectors;
 public class ComponentService {
     private final ComponentRepository componentRepository;
     private final ProjectRepository projectRepository;
-    private final ObjectMapper objectMapper;
+    private final ProjectSummaryView projectSummaryView;
+    private final DeployParamsCache deployParamsCache;
 
     @Transactional(readOnly = true)
     public List<ComponentDTO> getAllComponents() {
@@ -81,6 +81,7 @@ public class ComponentService {
         component.setProject(projectRepository.findById(dto.getProjectId())
                 .orElseThrow(() -> new RuntimeException("Project not found with id: " + dto.getProjectId())));
         Component saved = componentRepository.save(component);
+        projectSummaryView.invalidate(dto.getProjectId());
         log.info("Created component: {}", saved.getComponentName());
         return convertToDTO(saved);
     }
@@ -96,6 +97,8 @@ public class ComponentService {
         component.setDefaultInfraType(dto.getDefaultInfraType());
         component.setDefaultPort(dto.getDefaultPort());
         if (dto.getProjectId() != null) {
+            projectSummaryView.invalidate(projectIdOf(component));
+            projectSummaryView.invalidate(dto.getProjectId());
             component.setProject(projectRepository.findById(dto.getProjectId())
                     .orElseThrow(() -> new RuntimeException("Project not found with id: " + dto.getProjectId())));
         }
@@ -106,10 +109,10 @@ public class ComponentService {
 
     @Transactional
     public void deleteComponent(Long id) {
-        if (!componentRepository.existsById(id)) {
-            throw new RuntimeException("Component not found with id: " + id);
-        }
-        componentRepository.deleteById(id);
+        Component component = componentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Component not found with id: " + id));
+        projectSummaryView.invalidate(projectIdOf(component));
+        componentRepository.delete(component);
         log.info("Deleted component with id: {}", id);
     }
 
@@ -165,6 +168,9 @@ public class ComponentService {
         List<ComponentWithServicesDTO.ServiceInstanceDTO> serviceInstanceDTOs = new ArrayList<>();
         List<com.monitoring.dashboard.dto.DeploymentConfigDTO> deploymentConfigDTOs = new ArrayList<>();
         if (component.getDeploymentConfigs() != null) {
+            Map<Long, Long> configVersions = new HashMap<>();
+            component.getDeploymentConfigs().forEach(config -> configVersions.put(config.getConfigId(), config.getVersion()));
+            Map<Long, Map<String, String>> deployParams = deployParamsCache.getAll(configVersions);
             for (DeploymentConfig config : component.getDeploymentConfigs()) {
                 // Add deployment config DTO
                 com.monitoring.dashboard.dto.DeploymentConfigDTO dcDto = new com.monitoring.dashboard.dto.DeploymentConfigDTO();
@@ -194,19 +200,8 @@ public class ComponentService {
                 }
                 dcDto.setProfile(profileCode);
 
-                // Deserialize deployParams blob to Map
-                if (config.getDeployParams() != null && config.getDeployParams().length > 0) {
-                    try {
-                        String json = new String(config.getDeployParams());
-                        Map<String, String> params = objectMapper.readValue(json, new TypeReference<>() {});
-                        dcDto.setDeployParams(params);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse deployParams for config {}", config.getConfigId(), e);
-                        dcDto.setDeployParams(Map.of());
-                    }
-                } else {
-                    dcDto.setDeployParams(Map.of());
-                }
+                // Parsed deployParams, cached per config version
+                dcDto.setDeployParams(deployParams.get(config.getConfigId()));
 
                 deploymentConfigDTOs.add(dcDto);
 
@@ -253,4 +248,8 @@ public class ComponentService {
             }
         }
     }
+
+    private static Long projectIdOf(Component component) {
+        return component.getProject() != null ? component.getProject().getProjectId() : null;
+    }
 }
@@ -0,0 +1,104 @@
+package com.monitoring.dashboard.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitoring.dashboard.model.DeploymentConfig;
+import com.monitoring.dashboard.model.DeploymentConfigParams;
+import com.monitoring.dashboard.repository.DeploymentConfigParamsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parsed deployment parameters, keyed by config id and the config's entity version.
+ * The JSON is read from ops_deployment_config_params and parsed once per version: writes force-increment
+ * the config's @Version, so the next read re-parses and entries never go stale. Misses for many configs
+ * are loaded with one query. Returned maps are unmodifiable and shared.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DeployParamsCache {
+
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    private final DeploymentConfigParamsRepository deploymentConfigParamsRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Deployment parameters of a config, or an empty map when it has none or they cannot be parsed.
+     */
+    public Map<String, String> get(DeploymentConfig config) {
+        if (config.getConfigId() == null) {
+            return Map.of();
+        }
+        return getAll(Collections.singletonMap(config.getConfigId(), config.getVersion())).get(config.getConfigId());
+    }
+
+    /**
+     * Deployment parameters of every given config (config id to entity version). Every id is present in the result.
+     */
+    public Map<Long, Map<String, String>> getAll(Map<Long, Long> versionsByConfigId) {
+        Map<Long, Map<String, String>> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        versionsByConfigId.forEach((configId, version) -> {
+            Entry entry = entries.get(configId);
+            if (entry != null && Objects.equals(entry.version(), version)) {
+                result.put(configId, entry.params());
+            } else {
+                missing.add(configId);
+            }
+        });
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        Map<Long, byte[]> json = new HashMap<>();
+        for (int from = 0; from < missing.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, missing.size()));
+            for (DeploymentConfigParams row : deploymentConfigParamsRepository.findByConfigIds(chunk)) {
+                json.put(row.getConfigId(), row.getDeployParams());
+            }
+        }
+        for (Long configId : missing) {
+            Map<String, String> params = parse(configId, json.get(configId));
+            entries.put(configId, new Entry(versionsByConfigId.get(configId), params));
+            result.put(configId, params);
+        }
+        return result;
+    }
+
+    public void evict(Long configId) {
+        if (configId != null) {
+            entries.remove(configId);
+        }
+    }
+
+    private Map<String, String> parse(Long configId, byte[] json) {
+        if (json == null || json.length == 0) {
+            return Map.of();
+        }
+        try {
+            Map<String, String> params = objectMapper.readValue(
+                    new String(json, StandardCharsets.UTF_8), new TypeReference<LinkedHashMap<String, String>>() {});
+            return Collections.unmodifiableMap(params);
+        } catch (Exception e) {
+            log.warn("Failed to parse deployParams for config {}", configId, e);
+            return Map.of();
+        }
+    }
+
+    private record Entry(Long version, Map<String, String> params) {}
+}
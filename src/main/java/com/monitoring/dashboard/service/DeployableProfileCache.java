@@ -0,0 +1,78 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.ProjectProfiles;
+import com.monitoring.dashboard.repository.ProjectEnvironmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Profiles offered by the deployment modal, cached per (projectId, envId, regionId) filter.
+ * A profile is deployable when its project-environment mapping has at least one host. Each filter
+ * is read with one indexed query and kept until a profile, mapping or infrastructure change
+ * invalidates the whole cache (null filters overlap every key, so entries are not evicted one by one).
+ */
+@Component
+@Slf4j
+public class DeployableProfileCache {
+
+    private final ProjectEnvironmentRepository projectEnvironmentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Map<Key, List<ProjectProfiles>> profilesByFilter = new ConcurrentHashMap<>();
+
+    public DeployableProfileCache(ProjectEnvironmentRepository projectEnvironmentRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.projectEnvironmentRepository = projectEnvironmentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Deployable profiles matching the filters; a null filter matches everything.
+     */
+    public List<ProjectProfiles> get(Long projectId, Integer envId, Integer regionId) {
+        Key key = new Key(projectId, envId, regionId);
+        List<ProjectProfiles> profiles = profilesByFilter.get(key);
+        if (profiles != null) {
+            return profiles;
+        }
+        long loadGeneration = generation.get();
+        profiles = List.copyOf(transactionTemplate.execute(status ->
+                projectEnvironmentRepository.findDeployableProfiles(projectId, envId, regionId)));
+        // Only publish if no invalidation happened while we were loading (re-checked after the put,
+        // in case a clear slipped in between)
+        if (generation.get() == loadGeneration) {
+            profilesByFilter.put(key, profiles);
+            if (generation.get() != loadGeneration) {
+                profilesByFilter.remove(key, profiles);
+            }
+        }
+        log.debug("Loaded {} deployable profiles for project={}, env={}, region={}",
+                profiles.size(), projectId, envId, regionId);
+        return profiles;
+    }
+
+    /**
+     * Drop every cached filter. When called inside a transaction the cache is
+     * cleared after commit, so a concurrent reload cannot pick up uncommitted rows.
+     */
+    public void invalidate() {
+        TransactionHooks.afterCommit(this::clear);
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        profilesByFilter.clear();
+        log.debug("Deployable profile cache invalidated");
+    }
+
+    private record Key(Long projectId, Integer envId, Integer regionId) {}
+}
@@ -0,0 +1,26 @@
+package com.monitoring.dashboard.service;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Raised when a deployment config batch fails validation. Carries one entry per rejected item;
+ * nothing from the batch is written.
+ */
+@Getter
+public class DeploymentConfigBatchException extends IllegalArgumentException {
+
+    private final List<ItemError> errors;
+
+    public DeploymentConfigBatchException(List<ItemError> errors) {
+        super(errors.size() + " of the deployment configurations are invalid; first: "
+                + errors.get(0).message());
+        this.errors = List.copyOf(errors);
+    }
+
+    /**
+     * A rejected item, identified by its position in the request.
+     */
+    public record ItemError(int index, Long componentId, Long infraId, String message) {}
+}
@@ -1,32 +1,50 @@
 package com.monitoring.dashboard.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitoring.dashboard.dto.ComponentDeploymentDTO;
 import com.monitoring.dashboard.dto.CreateDeploymentConfigBatchRequest;
+import com.monitoring.dashboard.dto.CreateDeploymentConfigBatchRequest.SingleDeploymentConfigRequest;
 import com.monitoring.dashboard.dto.DeploymentConfigDTO;
 import com.monitoring.dashboard.model.*;
 import com.monitoring.dashboard.repository.ComponentRepository;
+import com.monitoring.dashboard.repository.DeploymentConfigParamsRepository;
 import com.monitoring.dashboard.repository.DeploymentConfigRepository;
 import com.monitoring.dashboard.repository.InfrastructureRepository;
 import com.monitoring.dashboard.repository.ProjectEnvironmentRepository;
 import com.monitoring.dashboard.repository.ServiceInstanceRepository;
+import com.monitoring.dashboard.service.DeploymentConfigBatchException.ItemError;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class DeploymentConfigService {
 
+    static final int MAX_CONFIGS_PER_BATCH = 1000;
+    private static final int LOOKUP_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private ComponentRepository componentRepository;
 
@@ -36,6 +54,9 @@ public class DeploymentConfigService {
     @Autowired
     private DeploymentConfigRepository deploymentConfigRepository;
 
+    @Autowired
+    private DeploymentConfigParamsRepository deploymentConfigParamsRepository;
+
     @Autowired
     private ServiceInstanceRepository serviceInstanceRepository;
 
@@ -45,6 +66,15 @@ public class DeploymentConfigService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ServiceInstanceEventPublisher serviceInstanceEventPublisher;
+
+    @Autowired
+    private DeployParamsCache deployParamsCache;
+
+    @Autowired
+    private DeployableProfileCache deployableProfileCache;
+
     public List<Component> getServices() {
         return componentRepository.findAll();
     }
@@ -65,37 +95,11 @@ public class DeploymentConfigService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Profiles of mappings that have infrastructure, filtered by project/env/region (null matches everything).
+     */
     public List<ProjectProfiles> getProfiles(Long projectId, Integer envId, Integer regionId) {
-        List<Infrastructure> infrastructures = infrastructureRepository.findAll();
-
-        List<ProjectProfiles> allProfiles = new ArrayList<>();
-        for (Infrastructure infra : infrastructures) {
-            if (infra.getProjectEnvironmentMapping() != null) {
-                allProfiles.addAll(infra.getProjectEnvironmentMapping().getProfiles());
-            }
-        }
-
-        return allProfiles.stream()
-                .filter(profile -> {
-                    if (projectId != null && profile.getProjectId() != null) {
-                        return projectId.equals(profile.getProjectId());
-                    }
-                    return true;
-                })
-                .filter(profile -> {
-                    if (envId != null && profile.getEnvironment() != null) {
-                        return envId.equals(profile.getEnvironment().getEnvId());
-                    }
-                    return true;
-                })
-                .filter(profile -> {
-                    if (regionId != null && profile.getRegion() != null) {
-                        return regionId.equals(profile.getRegion().getRegionId());
-                    }
-                    return true;
-                })
-                .distinct()
-                .collect(Collectors.toList());
+        return deployableProfileCache.get(projectId, envId, regionId);
     }
 
     @Transactional
@@ -137,18 +141,10 @@ public class DeploymentConfigService {
 
         config.setProfile(resolvedProfile);
 
-        // Serialize deployment parameters to BLOB
-        if (dto.getDeployParams() != null && !dto.getDeployParams().isEmpty()) {
-            try {
-                String jsonParams = objectMapper.writeValueAsString(dto.getDeployParams());
-                config.setDeployParams(jsonParams.getBytes());
-            } catch (JsonProcessingException e) {
-                log.error("Failed to serialize deployment parameters", e);
-                throw new RuntimeException("Failed to serialize deployment parameters", e);
-            }
-        }
+        config.applyDeployParams(dto.getDeployParams());
 
         DeploymentConfig savedConfig = deploymentConfigRepository.save(config);
+        insertDeployParams(savedConfig, dto.getDeployParams());
         log.info("Created deployment config {} for component {} on infrastructure {} ({}), profile={}",
                 savedConfig.getConfigId(), component.getComponentName(),
                 infrastructure.getHostname(), infrastructure.getInfraType(), resolvedProfile.getProfileCode());
@@ -159,32 +155,201 @@ public class DeploymentConfigService {
         return savedConfig;
     }
 
+    /**
+     * Create many deployment configs and their service instances in one transaction.
+     * Every item is validated before anything is written. Components, infrastructure, profiles,
+     * existing mappings and instance ids are each looked up with one query for the whole batch,
+     * and configs/instances are inserted in JDBC batches on flush. If any item is invalid a
+     * {@link DeploymentConfigBatchException} reports every failing item and nothing is saved.
+     */
     @Transactional
     public List<DeploymentConfig> createBatch(CreateDeploymentConfigBatchRequest request) {
         if (request == null || request.getConfigs() == null || request.getConfigs().isEmpty()) {
             throw new IllegalArgumentException("At least one deployment configuration is required");
         }
-        if (request.getConfigs().size() > 1) {
-            throw new IllegalArgumentException("Only one deployment mapping can be created at a time");
+        List<SingleDeploymentConfigRequest> items = request.getConfigs();
+        if (items.size() > MAX_CONFIGS_PER_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_CONFIGS_PER_BATCH
+                    + " deployment configurations can be created at a time, got " + items.size());
+        }
+
+        Set<Long> componentIds = new HashSet<>();
+        Set<Long> infraIds = new HashSet<>();
+        for (SingleDeploymentConfigRequest item : items) {
+            if (item != null && item.getComponentId() != null) {
+                componentIds.add(item.getComponentId());
+            }
+            if (item != null && item.getInfraId() != null) {
+                infraIds.add(item.getInfraId());
+            }
+        }
+        BatchLookups lookups = loadBatchLookups(componentIds, infraIds);
+
+        List<ItemError> errors = new ArrayList<>();
+        List<DeploymentConfig> configs = new ArrayList<>(items.size());
+        List<Integer> configIndexes = new ArrayList<>(items.size());
+        for (int index = 0; index < items.size(); index++) {
+            SingleDeploymentConfigRequest item = items.get(index);
+            try {
+                configs.add(prepareBatchConfig(item, lookups));
+                configIndexes.add(index);
+            } catch (RuntimeException e) {
+                errors.add(new ItemError(index,
+                        item != null ? item.getComponentId() : null,
+                        item != null ? item.getInfraId() : null,
+                        e.getMessage()));
+            }
+        }
+
+        // Instance ids are derived from component/host/profile, so they can clash within the batch or with existing rows
+        Map<String, Integer> instanceOwners = new HashMap<>();
+        for (int c = 0; c < configs.size(); c++) {
+            DeploymentConfig config = configs.get(c);
+            config.getServiceInstances().addAll(buildServiceInstances(config));
+            for (ServiceInstance instance : config.getServiceInstances()) {
+                Integer owner = instanceOwners.putIfAbsent(instance.getInstanceId(), configIndexes.get(c));
+                if (owner != null) {
+                    errors.add(itemError(configIndexes.get(c), config,
+                            "Service instance id " + instance.getInstanceId() + " clashes with configuration #" + owner));
+                }
+            }
+        }
+        for (String instanceId : findExistingInstanceIds(instanceOwners.keySet())) {
+            int index = instanceOwners.get(instanceId);
+            errors.add(itemError(index, configs.get(configIndexes.indexOf(index)),
+                    "Service instance already exists with id: " + instanceId));
+        }
+
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(ItemError::index));
+            log.warn("Rejected deployment config batch of {}: {} invalid item(s)", items.size(), errors.size());
+            throw new DeploymentConfigBatchException(errors);
         }
 
-        List<DeploymentConfig> savedConfigs = new ArrayList<>();
+        int instanceCount = 0;
+        for (int c = 0; c < configs.size(); c++) {
+            DeploymentConfig config = configs.get(c);
+            // Cascades to the config's service instances; inserts are batched when the transaction flushes
+            entityManager.persist(config);
+            insertDeployParams(config, items.get(configIndexes.get(c)).getDeployParams());
+            Long projectId = ServiceInstanceEventPublisher.projectIdOf(config);
+            for (ServiceInstance instance : config.getServiceInstances()) {
+                serviceInstanceEventPublisher.publishChanged(instance, projectId);
+            }
+            instanceCount += config.getServiceInstances().size();
+        }
+        log.info("Created {} deployment configs with {} service instances in one batch", configs.size(), instanceCount);
+        return configs;
+    }
+
+    /**
+     * Validate one batch item against the pre-loaded lookups and build its (unsaved) config.
+     */
+    private DeploymentConfig prepareBatchConfig(SingleDeploymentConfigRequest item, BatchLookups lookups) {
+        DeploymentConfigDTO dto = new DeploymentConfigDTO();
+        if (item != null) {
+            dto.setComponentId(item.getComponentId());
+            dto.setInfraId(item.getInfraId());
+            dto.setProfile(item.getProfile());
+            dto.setBasePort(item.getBasePort());
+            dto.setDeployParams(item.getDeployParams());
+        }
+        validateDeploymentConfigDto(dto);
+
+        Component component = lookups.components().get(dto.getComponentId());
+        if (component == null) {
+            throw new RuntimeException("Component not found with id: " + dto.getComponentId());
+        }
+        Infrastructure infrastructure = lookups.infrastructures().get(dto.getInfraId());
+        if (infrastructure == null) {
+            throw new RuntimeException("Infrastructure not found with id: " + dto.getInfraId());
+        }
+        if (!lookups.componentInfraPairs().add(pairKey(dto.getComponentId(), dto.getInfraId()))) {
+            throw new RuntimeException("A deployment mapping already exists for this component and infrastructure.");
+        }
 
-        for (CreateDeploymentConfigBatchRequest.SingleDeploymentConfigRequest dto : request.getConfigs()) {
-            DeploymentConfigDTO configDTO = new DeploymentConfigDTO();
-            configDTO.setComponentId(dto.getComponentId());
-            configDTO.setInfraId(dto.getInfraId());
-            configDTO.setProfile(dto.getProfile());
-            configDTO.setBasePort(dto.getBasePort());
-            configDTO.setDeployParams(dto.getDeployParams());
-            configDTO.setEnabled(true);
+        ProjectEnvironmentMapping pem = infrastructure.getProjectEnvironmentMapping();
+        if (pem == null) {
+            throw new RuntimeException("Infrastructure does not have a project-environment mapping to resolve profile");
+        }
+        Long projectId = component.getProject() != null ? component.getProject().getProjectId() : null;
+        String envCode = pem.getEnvironment() != null ? pem.getEnvironment().getEnvCode() : null;
+        String regionCode = pem.getRegion() != null ? pem.getRegion().getRegionCode() : null;
+        ProjectProfiles profile = lookups.profiles().get(profileKey(projectId, envCode, regionCode, dto.getProfile()));
+        if (profile == null) {
+            throw new RuntimeException("Profile '" + dto.getProfile() + "' not found for project/env/region mapping");
+        }
+
+        DeploymentConfig config = new DeploymentConfig();
+        config.setComponent(component);
+        config.setInfrastructure(infrastructure);
+        config.setBasePort(dto.getBasePort());
+        config.setEnabled(true);
+        config.setProfile(profile);
+        config.applyDeployParams(dto.getDeployParams());
+        return config;
+    }
+
+    private BatchLookups loadBatchLookups(Set<Long> componentIds, Set<Long> infraIds) {
+        Map<Long, Component> components = new HashMap<>();
+        Map<Long, Infrastructure> infrastructures = new HashMap<>();
+        Map<String, ProjectProfiles> profiles = new HashMap<>();
+        Set<String> componentInfraPairs = new HashSet<>();
+        if (!componentIds.isEmpty()) {
+            componentRepository.findAllById(componentIds)
+                    .forEach(component -> components.put(component.getComponentId(), component));
+            for (Object[] row : deploymentConfigRepository.findComponentInfraPairs(componentIds)) {
+                componentInfraPairs.add(pairKey((Long) row[0], (Long) row[1]));
+            }
+        }
+        if (!infraIds.isEmpty()) {
+            infrastructureRepository.findByIdsForDetails(infraIds)
+                    .forEach(infra -> infrastructures.put(infra.getInfraId(), infra));
+        }
+        Set<Long> projectIds = components.values().stream()
+                .filter(component -> component.getProject() != null)
+                .map(component -> component.getProject().getProjectId())
+                .collect(Collectors.toSet());
+        if (!projectIds.isEmpty()) {
+            for (ProjectProfiles profile : projectEnvironmentRepository.findByProjectIdsWithMapping(projectIds)) {
+                ProjectEnvironmentMapping pem = profile.getProjectEnvironmentMapping();
+                profiles.putIfAbsent(profileKey(
+                        pem.getProject().getProjectId(),
+                        pem.getEnvironment() != null ? pem.getEnvironment().getEnvCode() : null,
+                        pem.getRegion() != null ? pem.getRegion().getRegionCode() : null,
+                        profile.getProfileCode()), profile);
+            }
+        }
+        return new BatchLookups(components, infrastructures, profiles, componentInfraPairs);
+    }
 
-            savedConfigs.add(createDeploymentConfig(configDTO));
+    private List<String> findExistingInstanceIds(Collection<String> instanceIds) {
+        List<String> ids = new ArrayList<>(instanceIds);
+        List<String> existing = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK_SIZE) {
+            existing.addAll(serviceInstanceRepository.findExistingInstanceIds(
+                    ids.subList(from, Math.min(from + LOOKUP_CHUNK_SIZE, ids.size()))));
         }
+        return existing;
+    }
+
+    private static ItemError itemError(int index, DeploymentConfig config, String message) {
+        return new ItemError(index, config.getComponent().getComponentId(), config.getInfrastructure().getInfraId(), message);
+    }
 
-        return savedConfigs;
+    private static String pairKey(Long componentId, Long infraId) {
+        return componentId + ":" + infraId;
     }
 
+    private static String profileKey(Long projectId, String envCode, String regionCode, String profileCode) {
+        return projectId + "|" + envCode + "|" + regionCode + "|" + profileCode;
+    }
+
+    private record BatchLookups(Map<Long, Component> components,
+                                Map<Long, Infrastructure> infrastructures,
+                                Map<String, ProjectProfiles> profiles,
+                                Set<String> componentInfraPairs) {}
+
     @Transactional
     public void deleteDeploymentConfig(Long configId) {
         if (configId == null) {
@@ -197,10 +362,12 @@ public class DeploymentConfigService {
         List<ServiceInstance> instances = serviceInstanceRepository.findByDeploymentConfig_ConfigId(configId);
         if (!instances.isEmpty()) {
             serviceInstanceRepository.deleteAll(instances);
+            instances.forEach(serviceInstanceEventPublisher::publishDeleted);
             log.info("Deleted {} service instances linked to deployment config {}", instances.size(), configId);
         }
 
         deploymentConfigRepository.delete(config);
+        deployParamsCache.evict(configId);
         log.info("Deleted deployment config {}", configId);
     }
 
@@ -233,24 +400,93 @@ public class DeploymentConfigService {
      */
     @Transactional
     public void createServiceInstancesForConfig(DeploymentConfig config) {
+        reconcileServiceInstances(config);
+    }
+
+    /**
+     * Bring a managed config's service instances in line with its deployment parameters, base port, host and profile.
+     * Instances are matched by id (component-host-profile-ordinal): missing ordinals are added, surplus ones removed
+     * (orphanRemoval) and the rest updated in place, so their runtime status, uptime and version survive.
+     * Nothing is written for instances that already match; the rest goes out as JDBC batches on flush.
+     */
+    @Transactional
+    public void reconcileServiceInstances(DeploymentConfig config) {
+        Map<String, ServiceInstance> surplus = new HashMap<>();
+        config.getServiceInstances().forEach(instance -> surplus.put(instance.getInstanceId(), instance));
+        Long projectId = ServiceInstanceEventPublisher.projectIdOf(config);
+
+        int added = 0;
+        int updated = 0;
+        for (ServiceInstance desired : buildServiceInstances(config)) {
+            ServiceInstance current = surplus.remove(desired.getInstanceId());
+            if (current == null) {
+                config.getServiceInstances().add(desired);
+                entityManager.persist(desired);
+                serviceInstanceEventPublisher.publishChanged(desired, projectId);
+                added++;
+            } else if (applyPlacement(current, desired)) {
+                serviceInstanceEventPublisher.publishChanged(current, projectId);
+                updated++;
+            }
+        }
+        if (!surplus.isEmpty()) {
+            config.getServiceInstances().removeIf(instance -> surplus.containsKey(instance.getInstanceId()));
+            surplus.values().forEach(serviceInstanceEventPublisher::publishDeleted);
+        }
+        log.info("Reconciled service instances of deployment config {}: {} added, {} updated, {} removed",
+                config.getConfigId(), added, updated, surplus.size());
+    }
+
+    /**
+     * Copy the placement fields (port, host, type, profile, name) of a desired instance onto an existing one.
+     * Runtime fields, including lastUpdated (the heartbeat time), are left alone. Returns whether anything changed.
+     */
+    private static boolean applyPlacement(ServiceInstance current, ServiceInstance desired) {
+        boolean changed = false;
+        if (!Objects.equals(current.getPort(), desired.getPort())) {
+            current.setPort(desired.getPort());
+            changed = true;
+        }
+        if (!Objects.equals(current.getMachineName(), desired.getMachineName())) {
+            current.setMachineName(desired.getMachineName());
+            changed = true;
+        }
+        if (!Objects.equals(current.getInfraType(), desired.getInfraType())) {
+            current.setInfraType(desired.getInfraType());
+            changed = true;
+        }
+        if (!Objects.equals(current.getProfile(), desired.getProfile())) {
+            current.setProfile(desired.getProfile());
+            changed = true;
+        }
+        if (!Objects.equals(current.getServiceName(), desired.getServiceName())) {
+            current.setServiceName(desired.getServiceName());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Build (without saving) the service instances a deployment config calls for.
+     */
+    private List<ServiceInstance> buildServiceInstances(DeploymentConfig config) {
         Component component = config.getComponent();
         Infrastructure infrastructure = config.getInfrastructure();
         Integer basePort = config.getBasePort();
 
-        // Get deployment parameters
-        Map<String, String> deployParams = getDeployParams(config);
-
         // Determine instance count based on infra type
-        int instanceCount = getInstanceCountFromParams(infrastructure.getInfraType(), deployParams);
+        int instanceCount = getInstanceCount(infrastructure.getInfraType(), config);
 
-        log.info("Creating {} service instance(s) for component {} on infrastructure {} ({})",
+        log.info("Deployment config calls for {} service instance(s) of component {} on infrastructure {} ({})",
                 instanceCount, component.getComponentName(), infrastructure.getHostname(), infrastructure.getInfraType());
 
         // Resolve profile code once (prefer mapped profile then infra mapping)
         String resolvedProfile = resolveProfileCode(config);
         String profileForId = resolvedProfile != null ? resolvedProfile : "unknown";
         String profileForInstance = resolvedProfile != null ? resolvedProfile : ""; // DB profile column is NOT NULL in schema
+        LocalDateTime now = LocalDateTime.now();
 
+        List<ServiceInstance> instances = new ArrayList<>(Math.max(instanceCount, 0));
         for (int i = 0; i < instanceCount; i++) {
             ServiceInstance instance = new ServiceInstance();
 
@@ -279,55 +515,25 @@ public class DeploymentConfigService {
             instance.setStatus(null);
             instance.setVersion(null);
             instance.setUptimeSeconds(null);
-            instance.setDeployedAt(LocalDateTime.now());
-            instance.setLastUpdated(LocalDateTime.now());
-
-            serviceInstanceRepository.save(instance);
-            log.info("Created service instance: {}", instanceId);
+            instance.setDeployedAt(now);
+            instance.setLastUpdated(now);
+            instances.add(instance);
         }
+        return instances;
     }
 
     /**
-     * Extract instance count from deployment parameters based on infrastructure type.
+     * Instance count from the config's typed deployment parameters, based on infrastructure type.
      * - For ECS: Returns minPods (default 1), can autoscale to maxPods
      * - For Linux/Windows VMs: Returns instanceCount (default 1)
      */
-    private int getInstanceCountFromParams(String infraType, Map<String, String> deployParams) {
-        if (deployParams == null || deployParams.isEmpty()) {
-            return 1; // Default to 1 instance
-        }
-
-        String infraTypeLower = infraType != null ? infraType.toLowerCase() : "";
-
-        if ("ecs".equals(infraTypeLower)) {
-            // For ECS, use minPods as initial instance count
-            String minPods = deployParams.get("minPods");
-            if (minPods != null) {
-                try {
-                    return Integer.parseInt(minPods);
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid minPods value: {}, defaulting to 1", minPods);
-                    return 1;
-                }
-            }
-            return 1; // Default for ECS
-        } else {
-            // For Linux/Windows VMs, use instanceCount
-            String instanceCountStr = deployParams.get("instanceCount");
-            if (instanceCountStr != null) {
-                try {
-                    return Integer.parseInt(instanceCountStr);
-                } catch (NumberFormatException e) {
-                    log.warn("Invalid instanceCount value: {}, defaulting to 1", instanceCountStr);
-                    return 1;
-                }
-            }
-            return 1; // Default for VMs
-        }
+    private int getInstanceCount(String infraType, DeploymentConfig config) {
+        Integer count = "ecs".equalsIgnoreCase(infraType) ? config.getMinPods() : config.getInstanceCount();
+        return count != null ? count : 1;
     }
 
     /**
-     * Update deployment config and recreate service instances if needed.
+     * Update deployment config and reconcile its service instances if needed.
      */
     @Transactional
     public DeploymentConfig updateDeploymentConfig(Long configId, DeploymentConfigDTO dto) {
@@ -335,11 +541,8 @@ public class DeploymentConfigService {
                 .orElseThrow(() -> new RuntimeException("Deployment config not found with id: " + configId));
 
         Infrastructure existingInfra = config.getInfrastructure();
-        // Get old deploy params to compare instance count changes
-        Map<String, String> oldParams = getDeployParams(config);
-        int oldInstanceCount = getInstanceCountFromParams(
-                existingInfra != null ? existingInfra.getInfraType() : null,
-                oldParams);
+        // Capture the old instance count to detect changes
+        int oldInstanceCount = getInstanceCount(existingInfra != null ? existingInfra.getInfraType() : null, config);
 
         boolean infraChanged = false;
         if (dto.getInfraId() != null && (existingInfra == null || !Objects.equals(existingInfra.getInfraId(), dto.getInfraId()))) {
@@ -370,6 +573,7 @@ public class DeploymentConfigService {
         }
 
         // Update profile if provided
+        boolean profileChanged = false;
         if (dto.getProfile() != null && !dto.getProfile().isBlank()) {
             String profileCode = dto.getProfile();
             Infrastructure infra = config.getInfrastructure();
@@ -387,61 +591,85 @@ public class DeploymentConfigService {
                             projectId, envCode, regionCode, profileCode)
                     .orElseThrow(() -> new RuntimeException("Profile '" + profileCode + "' not found for project/env/region mapping"));
 
+            profileChanged = config.getProfile() == null
+                    || !Objects.equals(config.getProfile().getProfileId(), resolvedProfile.getProfileId());
             config.setProfile(resolvedProfile);
         }
 
         // Update deployment parameters
         if (dto.getDeployParams() != null) {
-            if (dto.getDeployParams().isEmpty()) {
-                config.setDeployParams(null);
-            } else {
-                try {
-                    String jsonParams = objectMapper.writeValueAsString(dto.getDeployParams());
-                    config.setDeployParams(jsonParams.getBytes());
-                } catch (JsonProcessingException e) {
-                    log.error("Failed to serialize deployment parameters", e);
-                    throw new RuntimeException("Failed to serialize deployment parameters", e);
-                }
-            }
+            config.applyDeployParams(dto.getDeployParams());
+            replaceDeployParams(config, dto.getDeployParams());
         }
 
         DeploymentConfig updated = deploymentConfigRepository.save(config);
 
-        Map<String, String> newParams = dto.getDeployParams() != null ? dto.getDeployParams() : getDeployParams(updated);
         // Check if instance count changed in deploy params
-        int newInstanceCount = getInstanceCountFromParams(updated.getInfrastructure().getInfraType(), newParams);
+        int newInstanceCount = getInstanceCount(updated.getInfrastructure().getInfraType(), updated);
         boolean instanceCountChanged = (oldInstanceCount != newInstanceCount);
 
-        // Recreate service instances if instance count or base port changed
-        if (instanceCountChanged || basePortChanged || infraChanged) {
-            log.info("Instance count or port changed (old: {}, new: {}), recreating service instances",
+        // Reconcile service instances if instance count, base port, infrastructure or profile changed;
+        // instance ids and placement are derived from the profile
+        if (instanceCountChanged || basePortChanged || infraChanged || profileChanged) {
+            log.info("Instance count, port, infrastructure or profile changed (count old: {}, new: {}), reconciling service instances",
                     oldInstanceCount, newInstanceCount);
-            // Delete existing instances
-            serviceInstanceRepository.deleteAll(config.getServiceInstances());
-            // Create new instances
-            createServiceInstancesForConfig(updated);
+            reconcileServiceInstances(updated);
         }
 
         return updated;
     }
 
     /**
-     * Convert deployment parameters from BLOB to Map.
+     * Store the parameters of a newly persisted config in the side table (nothing when there are none).
      */
-    public Map<String, String> getDeployParams(DeploymentConfig config) {
-        if (config.getDeployParams() == null || config.getDeployParams().length == 0) {
-            return Map.of();
+    private void insertDeployParams(DeploymentConfig config, Map<String, String> deployParams) {
+        byte[] json = serializeDeployParams(deployParams);
+        if (json != null) {
+            entityManager.persist(new DeploymentConfigParams(config, json));
         }
+    }
 
+    /**
+     * Replace the parameters of an existing, managed config (removing the row when there are none).
+     * The config's version is force-incremented so cached parses of the old parameters are not reused.
+     */
+    private void replaceDeployParams(DeploymentConfig config, Map<String, String> deployParams) {
+        byte[] json = serializeDeployParams(deployParams);
+        DeploymentConfigParams existing = deploymentConfigParamsRepository.findById(config.getConfigId()).orElse(null);
+        if (json == null) {
+            if (existing != null) {
+                deploymentConfigParamsRepository.delete(existing);
+            }
+        } else if (existing != null) {
+            existing.setDeployParams(json);
+        } else {
+            entityManager.persist(new DeploymentConfigParams(config, json));
+        }
+        entityManager.lock(config, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+    }
+
+    /**
+     * Convert deployment parameters to the JSON BLOB form, or null when there are none.
+     */
+    private byte[] serializeDeployParams(Map<String, String> deployParams) {
+        if (deployParams == null || deployParams.isEmpty()) {
+            return null;
+        }
         try {
-            String jsonParams = new String(config.getDeployParams());
-            return objectMapper.readValue(jsonParams, new TypeReference<Map<String, String>>() {});
-        } catch (Exception e) {
-            log.error("Failed to deserialize deployment parameters", e);
-            return Map.of();
+            return objectMapper.writeValueAsString(deployParams).getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize deployment parameters", e);
+            throw new RuntimeException("Failed to serialize deployment parameters", e);
         }
     }
 
+    /**
+     * Deployment parameters as a Map, parsed once per config version.
+     */
+    public Map<String, String> getDeployParams(DeploymentConfig config) {
+        return deployParamsCache.get(config);
+    }
+
     /**
      * Resolves the profile code for a deployment config via config.profile (ops_profiles) or infra -> projectEnvironmentMapping -> profiles.
      * If not found, returns null.
@@ -473,8 +701,18 @@ public class DeploymentConfigService {
         return profiles.get(0).getProfileCode();
     }
 
-    public List<DeploymentConfig> getDeploymentConfigsForProject(Long projectId) {
+    /**
+     * Deployment configs of a project for the mapping screen. Read as a projection; the parameters come from
+     * {@link DeployParamsCache}, which only reads ops_deployment_config_params for configs it has not parsed yet.
+     */
+    @Transactional(readOnly = true)
+    public List<ComponentDeploymentDTO> getDeploymentConfigsForProject(Long projectId) {
         if (projectId == null) return List.of();
-        return deploymentConfigRepository.findByComponent_Project_ProjectId(projectId);
+        List<ComponentDeploymentDTO> deployments = deploymentConfigRepository.findDeploymentsByProjectId(projectId);
+        Map<Long, Long> versions = new HashMap<>();
+        deployments.forEach(deployment -> versions.put(deployment.getConfigId(), deployment.getVersion()));
+        Map<Long, Map<String, String>> params = deployParamsCache.getAll(versions);
+        deployments.forEach(deployment -> deployment.setDynamicParams(params.get(deployment.getConfigId())));
+        return deployments;
     }
 }
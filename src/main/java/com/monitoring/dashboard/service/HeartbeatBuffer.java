@@ -0,0 +1,196 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest.Heartbeat;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for agent heartbeats.
+ * Keeps only the newest heartbeat per instanceId, spread over lock stripes so concurrent
+ * ingest calls rarely contend. The buffer is flushed to ops_service_instances through
+ * {@link ServiceInstanceHeartbeatWriter} every {@code heartbeat-buffer.flush-interval-ms},
+ * or early once {@code heartbeat-buffer.flush-threshold} instances are pending.
+ * Reads use {@link #peek(String)} to overlay buffered state that has not been written yet.
+ */
+@Component
+@Slf4j
+public class HeartbeatBuffer {
+
+    private static final int STRIPES = 16;
+
+    private final ServiceInstanceHeartbeatWriter heartbeatWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int flushThreshold;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean thresholdFlushQueued = new AtomicBoolean();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ExecutorService thresholdFlusher =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("heartbeat-flush-"));
+
+    // Heartbeats drained from the stripes whose flush has not committed yet; still visible to peek()
+    private volatile Map<String, Heartbeat> inFlight = Map.of();
+
+    public HeartbeatBuffer(ServiceInstanceHeartbeatWriter heartbeatWriter,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${heartbeat-buffer.enabled:true}") boolean enabled,
+                           @Value("${heartbeat-buffer.flush-threshold:5000}") int flushThreshold) {
+        this.heartbeatWriter = heartbeatWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.flushThreshold = Math.max(1, flushThreshold);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * Buffer heartbeats. Each must carry an instanceId and a timestamp.
+     * An older heartbeat never replaces a newer one already buffered.
+     */
+    public void offer(Collection<Heartbeat> heartbeats) {
+        for (Heartbeat heartbeat : heartbeats) {
+            offerOne(heartbeat);
+        }
+        if (pendingCount.get() >= flushThreshold && thresholdFlushQueued.compareAndSet(false, true)) {
+            thresholdFlusher.execute(() -> {
+                try {
+                    flush();
+                } finally {
+                    thresholdFlushQueued.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Newest heartbeat for the instance that has not been written yet, or null.
+     */
+    public Heartbeat peek(String instanceId) {
+        if (instanceId == null) {
+            return null;
+        }
+        Heartbeat pending = null;
+        if (pendingCount.get() > 0) {
+            Stripe stripe = stripeFor(instanceId);
+            synchronized (stripe) {
+                pending = stripe.heartbeats.get(instanceId);
+            }
+        }
+        return newer(pending, inFlight.get(instanceId));
+    }
+
+    @Scheduled(fixedDelayString = "${heartbeat-buffer.flush-interval-ms:5000}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Write everything buffered so far in one transaction. On failure the heartbeats are put back.
+     * Returns the number of rows updated.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            Map<String, Heartbeat> drained = new ConcurrentHashMap<>();
+            inFlight = drained;
+            for (Stripe stripe : stripes) {
+                synchronized (stripe) {
+                    if (stripe.heartbeats.isEmpty()) {
+                        continue;
+                    }
+                    drained.putAll(stripe.heartbeats);
+                    pendingCount.addAndGet(-stripe.heartbeats.size());
+                    stripe.heartbeats = new HashMap<>();
+                }
+            }
+            if (drained.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                List<String> applied = transactionTemplate.execute(status -> {
+                    List<String> ids = heartbeatWriter.applyHeartbeats(drained.values());
+                    heartbeatWriter.publishChanges(ids);
+                    return ids;
+                });
+                log.debug("Flushed {} buffered heartbeats, {} applied", drained.size(), applied.size());
+                return applied.size();
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} buffered heartbeats, re-queueing: {}", drained.size(), e.getMessage());
+                drained.values().forEach(this::offerOne);
+                return 0;
+            }
+        } finally {
+            inFlight = Map.of();
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thresholdFlusher.shutdown();
+        if (enabled) {
+            flush();
+        }
+    }
+
+    private void offerOne(Heartbeat heartbeat) {
+        Stripe stripe = stripeFor(heartbeat.getInstanceId());
+        synchronized (stripe) {
+            Heartbeat current = stripe.heartbeats.get(heartbeat.getInstanceId());
+            if (current == null) {
+                stripe.heartbeats.put(heartbeat.getInstanceId(), heartbeat);
+                pendingCount.incrementAndGet();
+            } else if (!heartbeat.getTimestamp().isBefore(current.getTimestamp())) {
+                stripe.heartbeats.put(heartbeat.getInstanceId(), heartbeat);
+            }
+        }
+    }
+
+    private Stripe stripeFor(String instanceId) {
+        return stripes[(instanceId.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private static Heartbeat newer(Heartbeat a, Heartbeat b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return b.getTimestamp().isAfter(a.getTimestamp()) ? b : a;
+    }
+
+    private static final class Stripe {
+        private Map<String, Heartbeat> heartbeats = new HashMap<>();
+    }
+}
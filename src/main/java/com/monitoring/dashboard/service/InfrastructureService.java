@@ -14,7 +14,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -27,12 +30,16 @@ public class InfrastructureService {
     private final InfrastructureRepository infrastructureRepository;
     private final InfraMetricsRepository infraMetricsRepository;
     private final ProjectEnvironmentMappingRepository projectEnvironmentMappingRepository;
+    private final MetricSampleService metricSampleService;
+    private final MetricRollupService metricRollupService;
+    private final LatestMetricSnapshot latestMetricSnapshot;
+    private final CapacityAlertEvaluator capacityAlertEvaluator;
+    private final ProjectSummaryView projectSummaryView;
+    private final DeployableProfileCache deployableProfileCache;
 
     @Transactional(readOnly = true)
     public List<InfrastructureDTO> getAllInfrastructure() {
-        return infrastructureRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(infrastructureRepository.findAllForDetails());
     }
 
     @Transactional(readOnly = true)
@@ -51,16 +58,12 @@ public class InfrastructureService {
 
     @Transactional(readOnly = true)
     public List<InfrastructureDTO> getInfrastructureByType(String type) {
-        return infrastructureRepository.findByInfraType(type).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(infrastructureRepository.findByInfraTypeForDetails(type));
     }
 
     @Transactional(readOnly = true)
     public List<InfrastructureDTO> getInfrastructureByEnvironment(String environment) {
-        return infrastructureRepository.findByEnvironment(environment).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(infrastructureRepository.findByEnvironmentForDetails(environment));
     }
 
     @Transactional
@@ -94,6 +97,8 @@ public class InfrastructureService {
         }
 
         Infrastructure saved = infrastructureRepository.save(infra);
+        projectSummaryView.invalidate(projectIdOf(saved));
+        deployableProfileCache.invalidate();
         
         // Add resource limits if provided
         if (dto.getResourceLimits() != null) {
@@ -123,16 +128,26 @@ public class InfrastructureService {
         infra.setEnvironment(dto.getEnvironment());
 
         Infrastructure updated = infrastructureRepository.save(infra);
+        projectSummaryView.invalidate(projectIdOf(updated));
+        deployableProfileCache.invalidate();
         log.info("Updated infrastructure: {}", updated.getHostname());
         return convertToDTO(updated);
     }
 
     @Transactional
     public void deleteInfrastructure(Long id) {
-        if (!infrastructureRepository.existsById(id)) {
-            throw new RuntimeException("Infrastructure not found with id: " + id);
-        }
-        infrastructureRepository.deleteById(id);
+        Infrastructure infra = infrastructureRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Infrastructure not found with id: " + id));
+        projectSummaryView.invalidate(projectIdOf(infra));
+        deployableProfileCache.invalidate();
+        infrastructureRepository.delete(infra);
+        metricSampleService.deleteSamplesForInfra(id);
+        metricRollupService.deleteRollupsForInfra(id);
+        // Keep the host's snapshot values and alert state if the delete rolls back
+        TransactionHooks.afterCommit(() -> {
+            latestMetricSnapshot.removeHosts(List.of(id));
+            capacityAlertEvaluator.removeHost(id);
+        });
         log.info("Deleted infrastructure with id: {}", id);
     }
 
@@ -141,9 +156,7 @@ public class InfrastructureService {
      */
     @Transactional(readOnly = true)
     public List<InfraDetailDTO> getAllInfrastructureDetails() {
-        return infrastructureRepository.findAll().stream()
-                .map(this::convertToDetailDTO)
-                .collect(Collectors.toList());
+        return convertToDetailDTOs(infrastructureRepository.findAllForDetails());
     }
 
     /**
@@ -151,9 +164,9 @@ public class InfrastructureService {
      */
     @Transactional(readOnly = true)
     public InfraDetailDTO getInfrastructureDetailsById(Long id) {
-        Infrastructure infra = infrastructureRepository.findById(id)
+        Infrastructure infra = infrastructureRepository.findByIdForDetails(id)
                 .orElseThrow(() -> new RuntimeException("Infrastructure not found with id: " + id));
-        return convertToDetailDTO(infra);
+        return convertToDetailDTOs(List.of(infra)).get(0);
     }
 
     /**
@@ -161,9 +174,7 @@ public class InfrastructureService {
      */
     @Transactional(readOnly = true)
     public List<InfraDetailDTO> getInfrastructureDetailsByType(String type) {
-        return infrastructureRepository.findByInfraType(type).stream()
-                .map(this::convertToDetailDTO)
-                .collect(Collectors.toList());
+        return convertToDetailDTOs(infrastructureRepository.findByInfraTypeForDetails(type));
     }
 
     /**
@@ -172,7 +183,15 @@ public class InfrastructureService {
     @Transactional(readOnly = true)
     public List<InfraDetailDTO> getInfrastructureDetailsByProject(Long projectId) {
         log.info("Fetching infrastructure details for project ID: {}", projectId);
-        return infrastructureRepository.findByProjectEnvironmentMapping_Project_ProjectId(projectId).stream()
+        return convertToDetailDTOs(infrastructureRepository.findByProjectIdForDetails(projectId));
+    }
+
+    /**
+     * Convert hosts to detailed DTOs. Capacity and usage come from {@link LatestMetricSnapshot},
+     * so no metric query is issued; callers pass hosts loaded with their mapping and project already fetched.
+     */
+    private List<InfraDetailDTO> convertToDetailDTOs(List<Infrastructure> hosts) {
+        return hosts.stream()
                 .map(this::convertToDetailDTO)
                 .collect(Collectors.toList());
     }
@@ -198,17 +217,17 @@ public class InfrastructureService {
             dto.setProjectName(infra.getProjectEnvironmentMapping().getProject().getProjectName());
         }
 
-        // Get all metrics for this infrastructure
-        List<InfraMetrics> allMetrics = infraMetricsRepository.findByInfrastructure_InfraId(infra.getInfraId());
-        
-        // Separate into max metrics and used metrics
-        Map<String, InfraMetrics> maxMetrics = allMetrics.stream()
-                .filter(m -> m.getMetricName().endsWith("_max"))
-                .collect(Collectors.toMap(InfraMetrics::getMetricName, m -> m));
-        
-        Map<String, InfraMetrics> usedMetrics = allMetrics.stream()
-                .filter(m -> m.getMetricName().endsWith("_used"))
-                .collect(Collectors.toMap(InfraMetrics::getMetricName, m -> m));
+        // Capacity (*_max) and current usage (*_used) from the in-memory snapshot
+        Map<String, MetricReading> maxMetrics = new HashMap<>();
+        Map<String, MetricReading> usedMetrics = new HashMap<>();
+        latestMetricSnapshot.forEach(infra.getInfraId(), (metricName, value, timeMillis) -> {
+            String kind = InfraMetrics.kindOf(metricName.getMetricName());
+            if (InfraMetrics.KIND_MAX.equals(kind)) {
+                maxMetrics.put(metricName.getMetricName(), new MetricReading(value, metricName.getUnit()));
+            } else if (InfraMetrics.KIND_USED.equals(kind)) {
+                usedMetrics.put(metricName.getMetricName(), new MetricReading(value, metricName.getUnit()));
+            }
+        });
 
         // Build metrics based on infrastructure type
         String infraType = infra.getInfraType().toLowerCase();
@@ -221,11 +240,16 @@ public class InfrastructureService {
         return dto;
     }
 
+    /**
+     * A numeric metric value with its unit.
+     */
+    private record MetricReading(Double value, String unit) {}
+
     /**
      * Build VM metrics for linux/windows.
      */
-    private InfraDetailDTO.VmMetrics buildVmMetrics(Map<String, InfraMetrics> maxMetrics, 
-                                                     Map<String, InfraMetrics> usedMetrics) {
+    private InfraDetailDTO.VmMetrics buildVmMetrics(Map<String, MetricReading> maxMetrics,
+                                                     Map<String, MetricReading> usedMetrics) {
         InfraDetailDTO.VmMetrics vmMetrics = new InfraDetailDTO.VmMetrics();
         
         vmMetrics.setCpu(buildMetricDetail("cpu_max", "cpu_used", maxMetrics, usedMetrics));
@@ -238,8 +262,8 @@ public class InfrastructureService {
     /**
      * Build ECS metrics for container infrastructure.
      */
-    private InfraDetailDTO.EcsMetrics buildEcsMetrics(Map<String, InfraMetrics> maxMetrics, 
-                                                       Map<String, InfraMetrics> usedMetrics) {
+    private InfraDetailDTO.EcsMetrics buildEcsMetrics(Map<String, MetricReading> maxMetrics,
+                                                       Map<String, MetricReading> usedMetrics) {
         InfraDetailDTO.EcsMetrics ecsMetrics = new InfraDetailDTO.EcsMetrics();
         
         ecsMetrics.setCpu(buildEcsResourceMetric("cpu", maxMetrics, usedMetrics));
@@ -253,22 +277,22 @@ public class InfrastructureService {
      * Build generic metric detail with max and used values.
      */
     private InfraDetailDTO.MetricDetail buildMetricDetail(String maxKey, String usedKey,
-                                                           Map<String, InfraMetrics> maxMetrics,
-                                                           Map<String, InfraMetrics> usedMetrics) {
+                                                           Map<String, MetricReading> maxMetrics,
+                                                           Map<String, MetricReading> usedMetrics) {
         InfraDetailDTO.MetricDetail detail = new InfraDetailDTO.MetricDetail();
         
-        InfraMetrics maxMetric = maxMetrics.get(maxKey);
-        InfraMetrics usedMetric = usedMetrics.get(usedKey);
+        MetricReading maxMetric = maxMetrics.get(maxKey);
+        MetricReading usedMetric = usedMetrics.get(usedKey);
         
         if (maxMetric != null) {
-            detail.setMax(parseDouble(maxMetric.getMetricValue()));
-            detail.setUnit(maxMetric.getUnit());
+            detail.setMax(maxMetric.value());
+            detail.setUnit(maxMetric.unit());
         }
         
         if (usedMetric != null) {
-            detail.setUsed(parseDouble(usedMetric.getMetricValue()));
+            detail.setUsed(usedMetric.value());
             if (detail.getUnit() == null) {
-                detail.setUnit(usedMetric.getUnit());
+                detail.setUnit(usedMetric.unit());
             }
         }
         
@@ -284,35 +308,35 @@ public class InfrastructureService {
      * Build ECS resource metric with limit, request, and used values.
      */
     private InfraDetailDTO.EcsResourceMetric buildEcsResourceMetric(String resourceType,
-                                                                     Map<String, InfraMetrics> maxMetrics,
-                                                                     Map<String, InfraMetrics> usedMetrics) {
+                                                                     Map<String, MetricReading> maxMetrics,
+                                                                     Map<String, MetricReading> usedMetrics) {
         InfraDetailDTO.EcsResourceMetric metric = new InfraDetailDTO.EcsResourceMetric();
         
         String limitMaxKey = "limit_" + resourceType + "_max";
         String limitUsedKey = "limit_" + resourceType + "_used";
         String requestMaxKey = "request_" + resourceType + "_max";
         
-        InfraMetrics limitMaxMetric = maxMetrics.get(limitMaxKey);
-        InfraMetrics limitUsedMetric = usedMetrics.get(limitUsedKey);
-        InfraMetrics requestMaxMetric = maxMetrics.get(requestMaxKey);
+        MetricReading limitMaxMetric = maxMetrics.get(limitMaxKey);
+        MetricReading limitUsedMetric = usedMetrics.get(limitUsedKey);
+        MetricReading requestMaxMetric = maxMetrics.get(requestMaxKey);
         
         if (limitMaxMetric != null) {
-            metric.setLimitMax(parseDouble(limitMaxMetric.getMetricValue()));
-            metric.setUnit(limitMaxMetric.getUnit());
+            metric.setLimitMax(limitMaxMetric.value());
+            metric.setUnit(limitMaxMetric.unit());
         }
         
         if (requestMaxMetric != null) {
-            metric.setRequestMax(parseDouble(requestMaxMetric.getMetricValue()));
+            metric.setRequestMax(requestMaxMetric.value());
             if (metric.getUnit() == null) {
-                metric.setUnit(requestMaxMetric.getUnit());
+                metric.setUnit(requestMaxMetric.unit());
             }
         }
         
         // Use limit_used as the primary "used" value since it represents actual usage against the limit
         if (limitUsedMetric != null) {
-            metric.setUsed(parseDouble(limitUsedMetric.getMetricValue()));
+            metric.setUsed(limitUsedMetric.value());
             if (metric.getUnit() == null) {
-                metric.setUnit(limitUsedMetric.getUnit());
+                metric.setUnit(limitUsedMetric.unit());
             }
         }
         
@@ -327,19 +351,19 @@ public class InfrastructureService {
     /**
      * Build pod metric.
      */
-    private InfraDetailDTO.PodMetric buildPodMetric(Map<String, InfraMetrics> maxMetrics,
-                                                     Map<String, InfraMetrics> usedMetrics) {
+    private InfraDetailDTO.PodMetric buildPodMetric(Map<String, MetricReading> maxMetrics,
+                                                     Map<String, MetricReading> usedMetrics) {
         InfraDetailDTO.PodMetric metric = new InfraDetailDTO.PodMetric();
         
-        InfraMetrics maxMetric = maxMetrics.get("pod_max");
-        InfraMetrics usedMetric = usedMetrics.get("pod_used");
+        MetricReading maxMetric = maxMetrics.get("pod_max");
+        MetricReading usedMetric = usedMetrics.get("pod_used");
         
-        if (maxMetric != null) {
-            metric.setMax(parseInt(maxMetric.getMetricValue()));
+        if (maxMetric != null && maxMetric.value() != null) {
+            metric.setMax((int) Math.round(maxMetric.value()));
         }
         
-        if (usedMetric != null) {
-            metric.setUsed(parseInt(usedMetric.getMetricValue()));
+        if (usedMetric != null && usedMetric.value() != null) {
+            metric.setUsed((int) Math.round(usedMetric.value()));
         }
         
         // Calculate usage percentage
@@ -350,31 +374,36 @@ public class InfrastructureService {
         return metric;
     }
 
-    /**
-     * Parse string to double safely.
-     */
-    private Double parseDouble(String value) {
-        try {
-            return value != null ? Double.parseDouble(value) : null;
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse double value: {}", value);
-            return null;
-        }
+    private static Long projectIdOf(Infrastructure infra) {
+        ProjectEnvironmentMapping mapping = infra.getProjectEnvironmentMapping();
+        return mapping != null && mapping.getProject() != null ? mapping.getProject().getProjectId() : null;
+    }
+
+    private InfrastructureDTO convertToDTO(Infrastructure infra) {
+        return convertToDTOs(List.of(infra)).get(0);
     }
 
     /**
-     * Parse string to integer safely.
+     * Convert hosts to DTOs with their resource limits and today's latest usage.
+     * Limits and usage for the whole set are loaded with one set-based query each.
      */
-    private Integer parseInt(String value) {
-        try {
-            return value != null ? Integer.parseInt(value) : null;
-        } catch (NumberFormatException e) {
-            log.warn("Failed to parse integer value: {}", value);
-            return null;
+    private List<InfrastructureDTO> convertToDTOs(List<Infrastructure> hosts) {
+        if (hosts.isEmpty()) {
+            return List.of();
         }
+        List<Long> infraIds = hosts.stream().map(Infrastructure::getInfraId).collect(Collectors.toList());
+
+        Map<Long, List<InfraMetrics>> limitsByHost = infraMetricsRepository
+                .findByInfraIdsAndMetricKind(infraIds, InfraMetrics.KIND_LIMIT).stream()
+                .collect(Collectors.groupingBy(metric -> metric.getInfrastructure().getInfraId()));
+        long startOfToday = LocalDate.now().atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        return hosts.stream()
+                .map(infra -> convertToDTO(infra, limitsByHost.getOrDefault(infra.getInfraId(), List.of()), startOfToday))
+                .collect(Collectors.toList());
     }
 
-    private InfrastructureDTO convertToDTO(Infrastructure infra) {
+    private InfrastructureDTO convertToDTO(Infrastructure infra, List<InfraMetrics> limits, long startOfToday) {
         InfrastructureDTO dto = new InfrastructureDTO();
         dto.setInfraId(infra.getInfraId());
         dto.setInfraType(infra.getInfraType());
@@ -393,7 +422,6 @@ public class InfrastructureService {
         }
 
         // Add resource limits (metrics ending with _limit)
-        List<InfraMetrics> limits = infraMetricsRepository.findLimitsByInfraId(infra.getInfraId());
         dto.setResourceLimits(limits.stream()
                 .map(limit -> new InfrastructureDTO.ResourceLimitDTO(
                         limit.getMetricId(),
@@ -403,19 +431,20 @@ public class InfrastructureService {
                 ))
                 .collect(Collectors.toList()));
 
-        // Add current metrics (today's latest usage metrics)
-        List<InfraMetrics> metrics = infraMetricsRepository.findLatestMetricsForInfra(
-                infra.getInfraId(), LocalDate.now());
-        dto.setCurrentMetrics(metrics.stream()
-                .map(metric -> new InfrastructureDTO.UsageMetricDTO(
-                        metric.getMetricId(),
-                        metric.getMetricName(),
-                        metric.getMetricValue(),
-                        metric.getUnit(),
-                        metric.getMetricTime() != null ?
-                            metric.getMetricTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null
-                ))
-                .collect(Collectors.toList()));
+        // Add current metrics (today's latest usage samples)
+        List<InfrastructureDTO.UsageMetricDTO> currentMetrics = new ArrayList<>();
+        latestMetricSnapshot.forEach(infra.getInfraId(), (metricName, value, timeMillis) -> {
+            if (timeMillis >= startOfToday) {
+                currentMetrics.add(new InfrastructureDTO.UsageMetricDTO(
+                        null,
+                        metricName.getMetricName(),
+                        String.valueOf(value),
+                        metricName.getUnit(),
+                        LatestMetricSnapshot.toLocalDateTime(timeMillis).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                ));
+            }
+        });
+        dto.setCurrentMetrics(currentMetrics);
 
         return dto;
     }
@@ -0,0 +1,258 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.InfraMetrics;
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.repository.InfraMetricSampleRepository;
+import com.monitoring.dashboard.repository.InfraMetricsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Latest value of every metric per host, held in primitive arrays indexed by metric name id.
+ * Covers current usage (newest sample) and capacity (*_max rows of ops_infra_metrics, stored with time 0).
+ * Warmed from the database once the application is ready and updated after each sample write commits
+ * (see MetricSampleService),
+ * so the dashboard views read it without a database round trip.
+ * Each host is guarded by a StampedLock: writers take the write lock, readers use optimistic reads.
+ */
+@Component
+@Slf4j
+public class LatestMetricSnapshot {
+
+    private final InfraMetricSampleRepository infraMetricSampleRepository;
+    private final InfraMetricsRepository infraMetricsRepository;
+    private final MetricNameDictionary metricNameDictionary;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, HostMetrics> hosts = new ConcurrentHashMap<>();
+
+    public LatestMetricSnapshot(InfraMetricSampleRepository infraMetricSampleRepository,
+                                InfraMetricsRepository infraMetricsRepository,
+                                MetricNameDictionary metricNameDictionary,
+                                PlatformTransactionManager transactionManager) {
+        this.infraMetricSampleRepository = infraMetricSampleRepository;
+        this.infraMetricsRepository = infraMetricsRepository;
+        this.metricNameDictionary = metricNameDictionary;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * A metric value and the epoch millis it was observed at (0 for capacity values).
+     */
+    public record Reading(double value, long timeMillis) {}
+
+    /**
+     * Load the newest sample of every metric and every capacity row.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    public void warm() {
+        long startNanos = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (InfraMetrics capacity : infraMetricsRepository.findByMetricKind(InfraMetrics.KIND_MAX)) {
+                recordCapacity(capacity.getInfrastructure().getInfraId(), capacity.getMetricName(),
+                        capacity.getMetricValue(), capacity.getUnit());
+            }
+            for (InfraMetricSample sample : infraMetricSampleRepository.findLatestAll()) {
+                record(sample);
+            }
+        });
+        log.info("Latest metric snapshot warmed for {} hosts in {} ms", hosts.size(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    public void recordAll(Collection<InfraMetricSample> samples) {
+        samples.forEach(this::record);
+    }
+
+    public void record(InfraMetricSample sample) {
+        record(sample.getInfraId(), sample.getMetricNameId(), toMillis(sample.getMetricTime()), sample.getMetricValue());
+    }
+
+    /**
+     * Store a value unless a newer one is already held for the same (infraId, metricNameId).
+     */
+    public void record(long infraId, int metricNameId, long timeMillis, double value) {
+        hosts.computeIfAbsent(infraId, id -> new HostMetrics()).put(metricNameId, timeMillis, value);
+    }
+
+    /**
+     * Store a capacity value given as text, as kept in ops_infra_metrics. Unparseable values are ignored.
+     */
+    public void recordCapacity(Long infraId, String metricName, String metricValue, String unit) {
+        if (infraId == null || metricName == null || metricValue == null) {
+            return;
+        }
+        try {
+            double value = Double.parseDouble(metricValue);
+            record(infraId, metricNameDictionary.intern(metricName, unit).getMetricNameId(), 0L, value);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring non-numeric capacity {}={} for infrastructure {}", metricName, metricValue, infraId);
+        }
+    }
+
+    /**
+     * Latest value of a metric for a host, or null.
+     */
+    public Reading get(Long infraId, String metricName) {
+        HostMetrics host = hosts.get(infraId);
+        MetricName name = host != null ? metricNameDictionary.find(metricName) : null;
+        return name != null ? host.get(name.getMetricNameId()) : null;
+    }
+
+    /**
+     * Latest value of a metric for a host, or NaN. Allocation-free variant of {@link #get} for hot paths.
+     */
+    public double getValue(long infraId, int metricNameId) {
+        HostMetrics host = hosts.get(infraId);
+        if (host == null) {
+            return Double.NaN;
+        }
+        return host.getValue(metricNameId);
+    }
+
+    /**
+     * Ids of every host held in the snapshot.
+     */
+    public Set<Long> getHostIds() {
+        return Set.copyOf(hosts.keySet());
+    }
+
+    /**
+     * Visit every metric held for a host.
+     */
+    public void forEach(Long infraId, MetricVisitor visitor) {
+        HostMetrics host = hosts.get(infraId);
+        if (host != null) {
+            host.forEach((metricNameId, value, timeMillis) -> {
+                MetricName name = metricNameDictionary.byId(metricNameId);
+                if (name != null) {
+                    visitor.visit(name, value, timeMillis);
+                }
+            });
+        }
+    }
+
+    public void removeHosts(Collection<Long> infraIds) {
+        infraIds.forEach(hosts::remove);
+    }
+
+    public int getHostCount() {
+        return hosts.size();
+    }
+
+    public static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    public interface MetricVisitor {
+        void visit(MetricName metricName, double value, long timeMillis);
+    }
+
+    @FunctionalInterface
+    private interface SlotVisitor {
+        void visit(int metricNameId, double value, long timeMillis);
+    }
+
+    private static final class HostMetrics {
+
+        private static final long ABSENT = Long.MIN_VALUE;
+
+        private final StampedLock lock = new StampedLock();
+        private double[] values = new double[0];
+        private long[] times = new long[0];
+
+        void put(int metricNameId, long timeMillis, double value) {
+            long stamp = lock.writeLock();
+            try {
+                if (metricNameId >= times.length) {
+                    int size = Math.max(metricNameId + 1, times.length * 2);
+                    int oldSize = times.length;
+                    values = Arrays.copyOf(values, size);
+                    times = Arrays.copyOf(times, size);
+                    Arrays.fill(times, oldSize, size, ABSENT);
+                }
+                if (timeMillis >= times[metricNameId]) {
+                    times[metricNameId] = timeMillis;
+                    values[metricNameId] = value;
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        Reading get(int metricNameId) {
+            long stamp = lock.tryOptimisticRead();
+            long[] t = times;
+            double[] v = values;
+            long time = metricNameId < t.length ? t[metricNameId] : ABSENT;
+            double value = metricNameId < v.length ? v[metricNameId] : 0;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    time = metricNameId < times.length ? times[metricNameId] : ABSENT;
+                    value = metricNameId < values.length ? values[metricNameId] : 0;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return time != ABSENT ? new Reading(value, time) : null;
+        }
+
+        double getValue(int metricNameId) {
+            long stamp = lock.tryOptimisticRead();
+            double[] v = values;
+            long[] t = times;
+            boolean present = metricNameId < t.length && t[metricNameId] != ABSENT;
+            double value = present && metricNameId < v.length ? v[metricNameId] : Double.NaN;
+            if (!lock.validate(stamp)) {
+                stamp = lock.readLock();
+                try {
+                    present = metricNameId < times.length && times[metricNameId] != ABSENT;
+                    value = present ? values[metricNameId] : Double.NaN;
+                } finally {
+                    lock.unlockRead(stamp);
+                }
+            }
+            return value;
+        }
+
+        void forEach(SlotVisitor visitor) {
+            long[] t;
+            double[] v;
+            long stamp = lock.readLock();
+            try {
+                t = times.clone();
+                v = values.clone();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            for (int id = 0; id < t.length; id++) {
+                if (t[id] != ABSENT) {
+                    visitor.visit(id, v[id], t[id]);
+                }
+            }
+        }
+    }
+}
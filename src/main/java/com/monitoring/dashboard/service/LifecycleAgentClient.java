@@ -0,0 +1,18 @@
+package com.monitoring.dashboard.service;
+
+/**
+ * Client for the runtime agent that actually starts and stops service instances on a host.
+ * Calls are blocking; ServiceActionExecutor runs them off the request thread.
+ */
+public interface LifecycleAgentClient {
+
+    /**
+     * Ask the agent on the given machine to start the instance. Returns once the agent reports it started.
+     */
+    void start(String instanceId, String machineName) throws InterruptedException;
+
+    /**
+     * Ask the agent on the given machine to stop the instance. Returns once the agent reports it stopped.
+     */
+    void stop(String instanceId, String machineName) throws InterruptedException;
+}
@@ -0,0 +1,325 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.MetricRangeDTO;
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.model.MetricResolution;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Range queries over infrastructure usage history.
+ * Reads the coarsest stored resolution that fits the requested step (see
+ * {@link MetricRollupService#selectResolution}) and folds the rows into fixed steps while streaming
+ * them from JDBC, so no per-sample objects are created. Buckets newer than the last rollup are
+ * filled from raw samples. The result is columnar: one shared timestamp array and one value array per host.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MetricHistoryService {
+
+    static final int MAX_HOSTS_PER_QUERY = 200;
+    static final int MAX_POINTS_PER_SERIES = 5_000;
+    private static final int DEFAULT_POINTS = 300;
+
+    private static final String SELECT_ROLLUPS_SQL = """
+        SELECT infra_id, bucket_start, min_value, max_value, avg_value, p95_value, sample_count
+          FROM ops_infra_metric_rollups
+         WHERE resolution = :resolution AND metric_name_id = :metricNameId AND infra_id IN (:infraIds)
+           AND bucket_start >= :from AND bucket_start < :to
+        """;
+
+    private static final String SELECT_SAMPLES_SQL = """
+        SELECT infra_id, metric_time, metric_value
+          FROM ops_infra_metric_samples
+         WHERE metric_name_id = :metricNameId AND infra_id IN (:infraIds)
+           AND metric_time >= :from AND metric_time < :to
+        """;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final MetricRollupService metricRollupService;
+    private final MetricNameDictionary metricNameDictionary;
+
+    public enum Aggregation {
+        AVG, MAX, MIN, P95;
+
+        static Aggregation parse(String value) {
+            if (value == null || value.isBlank()) {
+                return AVG;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported aggregation: " + value + " (use avg, max, min or p95)");
+            }
+        }
+    }
+
+    /**
+     * Aggregate {@code metricName} for the given hosts over [from, to) in steps of {@code stepSeconds}.
+     * When stepSeconds is null a step giving about 300 points is chosen.
+     * Across rollup buckets avg is sample-weighted, min/max are exact and p95 is the highest bucket p95
+     * (an upper bound); on raw samples every aggregation is exact.
+     */
+    @Transactional(readOnly = true)
+    public MetricRangeDTO getMetricRange(List<Long> infraIds, String metricName, LocalDateTime from,
+                                         LocalDateTime to, Long stepSeconds, String aggregation) {
+        if (infraIds == null || infraIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one infraId is required");
+        }
+        Set<Long> hosts = new LinkedHashSet<>(infraIds);
+        if (hosts.size() > MAX_HOSTS_PER_QUERY) {
+            throw new IllegalArgumentException("At most " + MAX_HOSTS_PER_QUERY + " hosts can be queried at once");
+        }
+        if (metricName == null || metricName.isBlank()) {
+            throw new IllegalArgumentException("metricName is required");
+        }
+        if (from == null) {
+            throw new IllegalArgumentException("'from' is required");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        Aggregation agg = Aggregation.parse(aggregation);
+
+        long rangeSeconds = seconds(end) - seconds(from);
+        long step = stepSeconds != null ? stepSeconds : Math.max(1, (rangeSeconds + DEFAULT_POINTS - 1) / DEFAULT_POINTS);
+        if (step <= 0) {
+            throw new IllegalArgumentException("stepSeconds must be positive");
+        }
+        long start = Math.floorDiv(seconds(from), step) * step;
+        long points = (seconds(end) - start + step - 1) / step;
+        if (points > MAX_POINTS_PER_SERIES) {
+            throw new IllegalArgumentException("Range and step produce " + points + " points per series; at most "
+                    + MAX_POINTS_PER_SERIES + " are allowed");
+        }
+
+        MetricResolution resolution = metricRollupService.selectResolution(from, end, step);
+        SeriesAccumulator accumulator = new SeriesAccumulator(hosts, start, step, (int) points, agg);
+
+        MetricName name = metricNameDictionary.find(metricName.trim());
+        if (name != null) {
+            LocalDateTime rawFrom = from;
+            if (resolution != MetricResolution.RAW) {
+                // Only buckets that lie entirely inside the range are read; a bucket straddling `from` or
+                // `to` also holds samples outside the range that would be folded into the first or last
+                // slot. The head and tail up to the nearest bucket boundary come from raw samples instead.
+                LocalDateTime rollupFrom = ceil(from, resolution);
+                LocalDateTime rolledUntil = metricRollupService.rolledUpUntil(resolution);
+                LocalDateTime rollupTo = rolledUntil == null ? from : min(rolledUntil, floor(end, resolution));
+                if (rollupTo.isAfter(rollupFrom)) {
+                    LocalDateTime headTo = min(rollupFrom, end);
+                    if (headTo.isAfter(from)) {
+                        readSamples(accumulator, name.getMetricNameId(), hosts, from, headTo);
+                    }
+                    readRollups(accumulator, resolution, name.getMetricNameId(), hosts, rollupFrom, rollupTo);
+                    rawFrom = rollupTo;
+                }
+            }
+            if (rawFrom.isBefore(end)) {
+                readSamples(accumulator, name.getMetricNameId(), hosts, rawFrom, end);
+            }
+        }
+
+        long[] timestamps = new long[(int) points];
+        for (int i = 0; i < points; i++) {
+            timestamps[i] = LocalDateTime.ofEpochSecond(start + i * step, 0, ZoneOffset.UTC)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        return new MetricRangeDTO(
+                metricName.trim(),
+                name != null ? name.getUnit() : null,
+                agg.name().toLowerCase(Locale.ROOT),
+                resolution.getCode(),
+                step,
+                timestamps,
+                accumulator.toSeries());
+    }
+
+    private void readRollups(SeriesAccumulator accumulator, MetricResolution resolution, Integer metricNameId,
+                             Set<Long> hosts, LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("resolution", resolution.getCode())
+                .addValue("metricNameId", metricNameId)
+                .addValue("infraIds", hosts)
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        namedParameterJdbcTemplate.query(SELECT_ROLLUPS_SQL, params, rs -> {
+            accumulator.addBucket(rs.getLong(1), seconds(rs.getTimestamp(2).toLocalDateTime()),
+                    rs.getDouble(3), rs.getDouble(4), rs.getDouble(5), rs.getDouble(6), rs.getInt(7));
+        });
+    }
+
+    private void readSamples(SeriesAccumulator accumulator, Integer metricNameId, Set<Long> hosts,
+                             LocalDateTime from, LocalDateTime to) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("metricNameId", metricNameId)
+                .addValue("infraIds", hosts)
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to));
+        namedParameterJdbcTemplate.query(SELECT_SAMPLES_SQL, params, rs -> {
+            accumulator.addSample(rs.getLong(1), seconds(rs.getTimestamp(2).toLocalDateTime()), rs.getDouble(3));
+        });
+    }
+
+    private static long seconds(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime floor(LocalDateTime time, MetricResolution resolution) {
+        long bucket = resolution.getBucketSeconds();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(seconds(time), bucket) * bucket, 0, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, MetricResolution resolution) {
+        long bucket = resolution.getBucketSeconds();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(seconds(time) + bucket - 1, bucket) * bucket, 0, ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Per-host step arrays folded in place as rows stream in.
+     */
+    private static final class SeriesAccumulator {
+
+        private final long start;
+        private final long step;
+        private final int points;
+        private final Aggregation aggregation;
+        private final Map<Long, Slots> slotsByHost = new LinkedHashMap<>();
+
+        SeriesAccumulator(Set<Long> hosts, long start, long step, int points, Aggregation aggregation) {
+            this.start = start;
+            this.step = step;
+            this.points = points;
+            this.aggregation = aggregation;
+            for (Long host : hosts) {
+                slotsByHost.put(host, new Slots(points));
+            }
+        }
+
+        void addBucket(long infraId, long bucketSeconds, double min, double max, double avg, double p95, int count) {
+            Slots slots = slotsByHost.get(infraId);
+            int slot = slotOf(bucketSeconds);
+            if (slots == null || slot < 0) {
+                return;
+            }
+            slots.count[slot] += count;
+            slots.sum[slot] += avg * count;
+            slots.min[slot] = slots.count[slot] == count ? min : Math.min(slots.min[slot], min);
+            slots.max[slot] = slots.count[slot] == count ? max : Math.max(slots.max[slot], max);
+            slots.p95[slot] = slots.hasRollup[slot] ? Math.max(slots.p95[slot], p95) : p95;
+            slots.hasRollup[slot] = true;
+        }
+
+        void addSample(long infraId, long sampleSeconds, double value) {
+            Slots slots = slotsByHost.get(infraId);
+            int slot = slotOf(sampleSeconds);
+            if (slots == null || slot < 0) {
+                return;
+            }
+            slots.count[slot]++;
+            slots.sum[slot] += value;
+            slots.min[slot] = slots.count[slot] == 1 ? value : Math.min(slots.min[slot], value);
+            slots.max[slot] = slots.count[slot] == 1 ? value : Math.max(slots.max[slot], value);
+            if (aggregation == Aggregation.P95) {
+                slots.addRaw(slot, value);
+            }
+        }
+
+        List<MetricRangeDTO.Series> toSeries() {
+            List<MetricRangeDTO.Series> series = new ArrayList<>(slotsByHost.size());
+            slotsByHost.forEach((infraId, slots) -> {
+                Double[] values = new Double[points];
+                for (int i = 0; i < points; i++) {
+                    if (slots.count[i] == 0) {
+                        continue;
+                    }
+                    double value = switch (aggregation) {
+                        case AVG -> slots.sum[i] / slots.count[i];
+                        case MAX -> slots.max[i];
+                        case MIN -> slots.min[i];
+                        case P95 -> slots.p95Of(i);
+                    };
+                    values[i] = Math.round(value * 1000.0) / 1000.0;
+                }
+                series.add(new MetricRangeDTO.Series(infraId, values));
+            });
+            return series;
+        }
+
+        private int slotOf(long epochSeconds) {
+            long slot = Math.floorDiv(epochSeconds - start, step);
+            return slot >= 0 && slot < points ? (int) slot : -1;
+        }
+    }
+
+    private static final class Slots {
+        final long[] count;
+        final double[] sum;
+        final double[] min;
+        final double[] max;
+        final double[] p95;
+        final boolean[] hasRollup;
+        // Raw values per step, only collected for p95 over raw samples
+        double[][] raw;
+        int[] rawCount;
+
+        Slots(int points) {
+            count = new long[points];
+            sum = new double[points];
+            min = new double[points];
+            max = new double[points];
+            p95 = new double[points];
+            hasRollup = new boolean[points];
+        }
+
+        void addRaw(int slot, double value) {
+            if (raw == null) {
+                raw = new double[count.length][];
+                rawCount = new int[count.length];
+            }
+            if (raw[slot] == null) {
+                raw[slot] = new double[8];
+            } else if (rawCount[slot] == raw[slot].length) {
+                raw[slot] = Arrays.copyOf(raw[slot], rawCount[slot] * 2);
+            }
+            raw[slot][rawCount[slot]++] = value;
+        }
+
+        /**
+         * Highest rollup p95 in the step, combined with the exact nearest-rank p95 of any raw samples.
+         */
+        double p95Of(int slot) {
+            int n = rawCount != null ? rawCount[slot] : 0;
+            if (n == 0) {
+                return p95[slot];
+            }
+            double[] values = raw[slot];
+            Arrays.sort(values, 0, n);
+            double rawP95 = values[(int) Math.ceil(0.95 * n) - 1];
+            return hasRollup[slot] ? Math.max(rawP95, p95[slot]) : rawP95;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.repository.MetricNameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory intern table for metric names.
+ * Names are loaded once from ops_metric_names; unseen names are inserted in their own
+ * transaction so a rollback of the caller never leaves an id cached that does not exist.
+ */
+@Component
+@Slf4j
+public class MetricNameDictionary {
+
+    private final MetricNameRepository metricNameRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final Map<String, MetricName> byName = new ConcurrentHashMap<>();
+    private final Map<Integer, MetricName> byId = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public MetricNameDictionary(MetricNameRepository metricNameRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.metricNameRepository = metricNameRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Id of the metric name, inserting it (with the given unit) if it has never been seen.
+     */
+    public MetricName intern(String name, String unit) {
+        ensureLoaded();
+        MetricName existing = byName.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = byName.get(name);
+            if (existing != null) {
+                return existing;
+            }
+            MetricName created;
+            try {
+                created = requiresNewTransaction.execute(status -> metricNameRepository.findByMetricName(name)
+                        .orElseGet(() -> metricNameRepository.save(new MetricName(null, name, unit))));
+            } catch (DataIntegrityViolationException e) {
+                // Inserted concurrently by another instance of the application
+                created = requiresNewTransaction.execute(status -> metricNameRepository.findByMetricName(name)
+                        .orElseThrow(() -> new RuntimeException("Metric name could not be interned: " + name)));
+            }
+            remember(created);
+            log.info("Registered metric name '{}' with id {}", name, created.getMetricNameId());
+            return created;
+        }
+    }
+
+    /**
+     * Known metric name, or null. Never inserts.
+     */
+    public MetricName find(String name) {
+        ensureLoaded();
+        return byName.get(name);
+    }
+
+    /**
+     * Metric name for an id, or null.
+     */
+    public MetricName byId(Integer metricNameId) {
+        ensureLoaded();
+        return byId.get(metricNameId);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                requiresNewTransaction.executeWithoutResult(status -> metricNameRepository.findAll().forEach(this::remember));
+                loaded = true;
+            }
+        }
+    }
+
+    private void remember(MetricName metricName) {
+        byName.put(metricName.getMetricName(), metricName);
+        byId.put(metricName.getMetricNameId(), metricName);
+    }
+}
@@ -0,0 +1,337 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.InfraMetricRollup;
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.model.MetricResolution;
+import com.monitoring.dashboard.repository.InfraMetricRollupRepository;
+import com.monitoring.dashboard.repository.InfraMetricSampleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Compacts raw usage samples into 1-minute, 1-hour and 1-day buckets (min/max/avg/p95/count)
+ * and enforces per-tier retention.
+ * Every tier is computed from the raw samples once its bucket has closed (plus a lateness grace),
+ * so p95 is exact at every resolution. Raw retention therefore has to cover at least one day bucket.
+ * Progress is derived from the newest bucket stored per tier, so the job resumes correctly after a restart.
+ */
+@Service
+@Slf4j
+public class MetricRollupService {
+
+    private static final List<MetricResolution> ROLLUP_TIERS =
+            List.of(MetricResolution.MINUTE, MetricResolution.HOUR, MetricResolution.DAY);
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SELECT_SAMPLES_SQL = """
+        SELECT infra_id, metric_name_id, metric_time, metric_value
+          FROM ops_infra_metric_samples
+         WHERE metric_time >= ? AND metric_time < ?
+         ORDER BY infra_id, metric_name_id, metric_time
+        """;
+
+    private static final String DELETE_ROLLUPS_SQL = """
+        DELETE FROM ops_infra_metric_rollups
+         WHERE resolution = ? AND bucket_start >= ? AND bucket_start < ?
+        """;
+
+    private static final String INSERT_ROLLUP_SQL = """
+        INSERT INTO ops_infra_metric_rollups
+            (infra_id, metric_name_id, resolution, bucket_start, min_value, max_value, avg_value, p95_value, sample_count)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private final InfraMetricSampleRepository infraMetricSampleRepository;
+    private final InfraMetricRollupRepository infraMetricRollupRepository;
+    private final MetricNameDictionary metricNameDictionary;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Duration lateness;
+    private final Map<MetricResolution, Duration> retention = new EnumMap<>(MetricResolution.class);
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    public MetricRollupService(InfraMetricSampleRepository infraMetricSampleRepository,
+                               InfraMetricRollupRepository infraMetricRollupRepository,
+                               MetricNameDictionary metricNameDictionary,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${metric-rollup.enabled:true}") boolean enabled,
+                               @Value("${metric-rollup.lateness-seconds:30}") long latenessSeconds,
+                               @Value("${metric-rollup.retention.raw-hours:48}") long rawRetentionHours,
+                               @Value("${metric-rollup.retention.minute-hours:168}") long minuteRetentionHours,
+                               @Value("${metric-rollup.retention.hour-days:90}") long hourRetentionDays,
+                               @Value("${metric-rollup.retention.day-days:730}") long dayRetentionDays) {
+        this.infraMetricSampleRepository = infraMetricSampleRepository;
+        this.infraMetricRollupRepository = infraMetricRollupRepository;
+        this.metricNameDictionary = metricNameDictionary;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.lateness = Duration.ofSeconds(latenessSeconds);
+        retention.put(MetricResolution.RAW, Duration.ofHours(rawRetentionHours));
+        retention.put(MetricResolution.MINUTE, Duration.ofHours(minuteRetentionHours));
+        retention.put(MetricResolution.HOUR, Duration.ofDays(hourRetentionDays));
+        retention.put(MetricResolution.DAY, Duration.ofDays(dayRetentionDays));
+
+        Duration coarsest = Duration.ofSeconds(MetricResolution.DAY.getBucketSeconds()).plus(lateness);
+        if (retention.get(MetricResolution.RAW).compareTo(coarsest) < 0) {
+            throw new IllegalArgumentException("metric-rollup.retention.raw-hours must cover one day bucket plus lateness");
+        }
+    }
+
+    /**
+     * Result of a history query: the resolution that was read and its buckets, oldest first.
+     * Raw samples are returned as single-sample buckets.
+     */
+    public record RollupSeries(MetricResolution resolution, List<InfraMetricRollup> buckets) {}
+
+    @Scheduled(fixedDelayString = "${metric-rollup.interval-ms:60000}",
+               initialDelayString = "${metric-rollup.interval-ms:60000}")
+    public void scheduledRollup() {
+        if (enabled) {
+            runRollups();
+        }
+    }
+
+    /**
+     * Roll up every closed bucket not yet stored, then purge data past retention.
+     */
+    public void runRollups() {
+        if (!runLock.tryLock()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (MetricResolution tier : ROLLUP_TIERS) {
+                try {
+                    rollUp(tier, now);
+                } catch (RuntimeException e) {
+                    log.error("Rollup of {} buckets failed: {}", tier.getCode(), e.getMessage(), e);
+                }
+            }
+            purgeExpired(now);
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Pick the coarsest resolution whose buckets are no wider than the requested step and whose
+     * retention still covers {@code from}. Falls back to the finest tier that covers the range,
+     * and to raw samples when the step is finer than a minute and raw data is still retained.
+     */
+    public MetricResolution selectResolution(LocalDateTime from, LocalDateTime to, long stepSeconds) {
+        LocalDateTime now = LocalDateTime.now();
+        MetricResolution best = null;
+        for (MetricResolution tier : ROLLUP_TIERS) {
+            if (!from.isBefore(now.minus(retention.get(tier))) && tier.getBucketSeconds() <= stepSeconds) {
+                best = tier;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        if (!from.isBefore(now.minus(retention.get(MetricResolution.RAW)))) {
+            return MetricResolution.RAW;
+        }
+        for (MetricResolution tier : ROLLUP_TIERS) {
+            if (!from.isBefore(now.minus(retention.get(tier)))) {
+                return tier;
+            }
+        }
+        return MetricResolution.DAY;
+    }
+
+    /**
+     * History of one metric for one host in [from, to) at the resolution chosen by {@link #selectResolution}.
+     */
+    public RollupSeries findSeries(Long infraId, String metricName, LocalDateTime from, LocalDateTime to,
+                                   long stepSeconds) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        MetricResolution resolution = selectResolution(from, to, Math.max(1, stepSeconds));
+        MetricName name = metricNameDictionary.find(metricName);
+        if (name == null) {
+            return new RollupSeries(resolution, List.of());
+        }
+        return transactionTemplate.execute(status -> {
+            if (resolution == MetricResolution.RAW) {
+                List<InfraMetricRollup> buckets = new ArrayList<>();
+                for (InfraMetricSample sample : infraMetricSampleRepository.findRange(infraId, name.getMetricNameId(), from, to)) {
+                    double value = sample.getMetricValue();
+                    buckets.add(new InfraMetricRollup(infraId, name.getMetricNameId(), MetricResolution.RAW.getCode(),
+                            sample.getMetricTime(), value, value, value, value, 1));
+                }
+                return new RollupSeries(resolution, buckets);
+            }
+            return new RollupSeries(resolution, infraMetricRollupRepository.findRange(
+                    infraId, name.getMetricNameId(), resolution.getCode(), floor(from, resolution), to));
+        });
+    }
+
+    /**
+     * End of the newest bucket stored for a tier (exclusive), or null if the tier is empty.
+     * Data after this point has not been rolled up yet and is only available as raw samples.
+     */
+    public LocalDateTime rolledUpUntil(MetricResolution tier) {
+        LocalDateTime latest = infraMetricRollupRepository.findLatestBucketStart(tier.getCode());
+        return latest != null ? latest.plusSeconds(tier.getBucketSeconds()) : null;
+    }
+
+    @Transactional
+    public void deleteRollupsForInfra(Long infraId) {
+        int deleted = infraMetricRollupRepository.deleteByInfraId(infraId);
+        log.info("Deleted {} metric rollups for infrastructure {}", deleted, infraId);
+    }
+
+    private void rollUp(MetricResolution tier, LocalDateTime now) {
+        LocalDateTime to = floor(now.minus(lateness), tier);
+        LocalDateTime oldestRaw = now.minus(retention.get(MetricResolution.RAW));
+
+        LocalDateTime latest = infraMetricRollupRepository.findLatestBucketStart(tier.getCode());
+        LocalDateTime from;
+        if (latest != null) {
+            from = latest.plusSeconds(tier.getBucketSeconds());
+        } else {
+            LocalDateTime earliest = infraMetricSampleRepository.findEarliestMetricTime();
+            if (earliest == null) {
+                return;
+            }
+            from = floor(earliest, tier);
+        }
+        if (from.isBefore(oldestRaw)) {
+            from = floor(oldestRaw, tier).plusSeconds(tier.getBucketSeconds());
+        }
+        if (!from.isBefore(to)) {
+            return;
+        }
+
+        LocalDateTime windowStart = from;
+        int written = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(DELETE_ROLLUPS_SQL, tier.getCode(), Timestamp.valueOf(windowStart), Timestamp.valueOf(to));
+            BucketWriter writer = new BucketWriter(tier);
+            jdbcTemplate.query(SELECT_SAMPLES_SQL, rs -> {
+                writer.accept(rs.getLong(1), rs.getInt(2), rs.getTimestamp(3).toLocalDateTime(), rs.getDouble(4));
+            }, Timestamp.valueOf(windowStart), Timestamp.valueOf(to));
+            return writer.finish();
+        });
+        log.debug("Rolled up {} {} buckets for [{}, {})", written, tier.getCode(), windowStart, to);
+    }
+
+    private void purgeExpired(LocalDateTime now) {
+        transactionTemplate.executeWithoutResult(status -> {
+            int raw = jdbcTemplate.update("DELETE FROM ops_infra_metric_samples WHERE metric_time < ?",
+                    Timestamp.valueOf(now.minus(retention.get(MetricResolution.RAW))));
+            int rollups = 0;
+            for (MetricResolution tier : ROLLUP_TIERS) {
+                rollups += jdbcTemplate.update(
+                        "DELETE FROM ops_infra_metric_rollups WHERE resolution = ? AND bucket_start < ?",
+                        tier.getCode(), Timestamp.valueOf(now.minus(retention.get(tier))));
+            }
+            if (raw > 0 || rollups > 0) {
+                log.info("Purged {} raw samples and {} rollups past retention", raw, rollups);
+            }
+        });
+    }
+
+    private static LocalDateTime floor(LocalDateTime time, MetricResolution tier) {
+        long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+        long bucket = tier.getBucketSeconds();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, bucket) * bucket, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Accumulates samples arriving in (infraId, metricNameId, metricTime) order into one open bucket
+     * at a time and writes closed buckets in JDBC batches.
+     */
+    private final class BucketWriter {
+
+        private final MetricResolution tier;
+        private final List<Object[]> pending = new ArrayList<>(BATCH_SIZE);
+        private long infraId;
+        private int metricNameId;
+        private LocalDateTime bucketStart;
+        private double[] values = new double[64];
+        private int count;
+        private int written;
+
+        BucketWriter(MetricResolution tier) {
+            this.tier = tier;
+        }
+
+        void accept(long sampleInfraId, int sampleMetricNameId, LocalDateTime metricTime, double value) {
+            LocalDateTime sampleBucket = floor(metricTime, tier);
+            if (count > 0 && (sampleInfraId != infraId || sampleMetricNameId != metricNameId
+                    || !sampleBucket.equals(bucketStart))) {
+                closeBucket();
+            }
+            if (count == 0) {
+                infraId = sampleInfraId;
+                metricNameId = sampleMetricNameId;
+                bucketStart = sampleBucket;
+            }
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        int finish() {
+            if (count > 0) {
+                closeBucket();
+            }
+            flush();
+            return written;
+        }
+
+        private void closeBucket() {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            double sum = 0;
+            for (int i = 0; i < count; i++) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+                sum += values[i];
+            }
+            // Nearest-rank 95th percentile
+            Arrays.sort(values, 0, count);
+            double p95 = values[(int) Math.ceil(0.95 * count) - 1];
+            pending.add(new Object[] {
+                    infraId, metricNameId, tier.getCode(), Timestamp.valueOf(bucketStart),
+                    min, max, sum / count, p95, count
+            });
+            count = 0;
+            if (pending.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ROLLUP_SQL, pending);
+                written += pending.size();
+                pending.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.MetricSampleBatchRequest;
+import com.monitoring.dashboard.dto.MetricSampleBatchRequest.Sample;
+import com.monitoring.dashboard.dto.MetricSampleBatchResponse;
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.InfraMetricSampleId;
+import com.monitoring.dashboard.model.MetricName;
+import com.monitoring.dashboard.repository.InfraMetricSampleRepository;
+import com.monitoring.dashboard.repository.InfrastructureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only store for numeric infrastructure metric samples (ops_infra_metric_samples).
+ * Samples are inserted with JDBC batches; a sample whose (infraId, metricName, metricTime)
+ * is already stored is skipped, so agents can safely resend. Inserted samples are pushed to
+ * {@link LatestMetricSnapshot} and {@link CapacityAlertEvaluator} after commit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MetricSampleService {
+
+    static final int MAX_SAMPLES_PER_REQUEST = 100_000;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO ops_infra_metric_samples (infra_id, metric_name_id, metric_time, metric_value)
+        SELECT CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS TIMESTAMP), CAST(? AS DOUBLE PRECISION)
+        WHERE NOT EXISTS (SELECT 1 FROM ops_infra_metric_samples
+                          WHERE infra_id = ? AND metric_name_id = ? AND metric_time = ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InfraMetricSampleRepository infraMetricSampleRepository;
+    private final InfrastructureRepository infrastructureRepository;
+    private final MetricNameDictionary metricNameDictionary;
+    private final LatestMetricSnapshot latestMetricSnapshot;
+    private final CapacityAlertEvaluator capacityAlertEvaluator;
+
+    /**
+     * Validate and append a batch of samples reported by agents.
+     */
+    @Transactional
+    public MetricSampleBatchResponse ingestSamples(MetricSampleBatchRequest request) {
+        long startNanos = System.nanoTime();
+        List<Sample> samples = request != null ? request.getSamples() : null;
+        if (samples == null || samples.isEmpty()) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        if (samples.size() > MAX_SAMPLES_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_SAMPLES_PER_REQUEST
+                    + " samples are accepted per request, got " + samples.size());
+        }
+
+        Set<Long> requestedInfraIds = samples.stream()
+                .filter(sample -> sample != null && sample.getInfraId() != null)
+                .map(Sample::getInfraId)
+                .collect(Collectors.toSet());
+        Set<Long> knownInfraIds = requestedInfraIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(infrastructureRepository.findExistingInfraIds(requestedInfraIds));
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<InfraMetricSampleId, InfraMetricSample> unique = new LinkedHashMap<>();
+        int invalid = 0;
+        for (Sample sample : samples) {
+            if (sample == null || sample.getInfraId() == null || !knownInfraIds.contains(sample.getInfraId())
+                    || sample.getMetricName() == null || sample.getMetricName().isBlank()
+                    || sample.getValue() == null || !Double.isFinite(sample.getValue())) {
+                invalid++;
+                continue;
+            }
+            MetricName metricName = metricNameDictionary.intern(sample.getMetricName().trim(), sample.getUnit());
+            InfraMetricSample row = new InfraMetricSample(
+                    sample.getInfraId(),
+                    metricName.getMetricNameId(),
+                    sample.getMetricTime() != null ? sample.getMetricTime() : receivedAt,
+                    sample.getValue());
+            // Last value wins for duplicates within the batch
+            unique.put(new InfraMetricSampleId(row.getInfraId(), row.getMetricNameId(), row.getMetricTime()), row);
+        }
+
+        int inserted = appendSamples(new ArrayList<>(unique.values()));
+
+        long durationNanos = System.nanoTime() - startNanos;
+        double samplesPerSecond = durationNanos > 0 ? samples.size() / (durationNanos / 1_000_000_000.0) : 0;
+        MetricSampleBatchResponse response = new MetricSampleBatchResponse(
+                samples.size(),
+                invalid,
+                inserted,
+                samples.size() - invalid - inserted,
+                durationNanos / 1_000_000,
+                Math.round(samplesPerSecond * 10) / 10.0);
+
+        log.info("Ingested {} metric samples ({} inserted, {} duplicates, {} invalid) in {} ms ({} samples/s)",
+                response.getReceived(), response.getInserted(), response.getDuplicates(), response.getInvalid(),
+                response.getDurationMs(), response.getSamplesPerSecond());
+        return response;
+    }
+
+    /**
+     * Insert samples in JDBC batches, skipping keys that already exist. Must run inside a transaction.
+     * Returns the number of rows inserted.
+     */
+    public int appendSamples(List<InfraMetricSample> samples) {
+        List<InfraMetricSample> inserted = new ArrayList<>(samples.size());
+        for (int from = 0; from < samples.size(); from += BATCH_SIZE) {
+            List<InfraMetricSample> chunk = samples.subList(from, Math.min(from + BATCH_SIZE, samples.size()));
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (InfraMetricSample sample : chunk) {
+                args.add(new Object[] {
+                        sample.getInfraId(), sample.getMetricNameId(), sample.getMetricTime(), sample.getMetricValue(),
+                        sample.getInfraId(), sample.getMetricNameId(), sample.getMetricTime()
+                });
+            }
+            int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, args);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    inserted.add(chunk.get(i));
+                }
+            }
+        }
+        TransactionHooks.afterCommit(() -> {
+            latestMetricSnapshot.recordAll(inserted);
+            capacityAlertEvaluator.evaluate(inserted);
+        });
+        return inserted.size();
+    }
+
+    /**
+     * Latest sample of each metric reported for a host, keyed by metric name.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, InfraMetricSample> findLatestSamples(Long infraId) {
+        Map<String, InfraMetricSample> latest = new LinkedHashMap<>();
+        for (InfraMetricSample sample : infraMetricSampleRepository.findLatestByInfraId(infraId)) {
+            MetricName metricName = metricNameDictionary.byId(sample.getMetricNameId());
+            if (metricName != null) {
+                latest.put(metricName.getMetricName(), sample);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Latest sample of each metric for every given host (hosts without samples are absent), in one query.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, InfraMetricSample>> findLatestSamples(Collection<Long> infraIds) {
+        Map<Long, Map<String, InfraMetricSample>> latest = new HashMap<>();
+        if (infraIds.isEmpty()) {
+            return latest;
+        }
+        for (InfraMetricSample sample : infraMetricSampleRepository.findLatestByInfraIds(infraIds)) {
+            MetricName metricName = metricNameDictionary.byId(sample.getMetricNameId());
+            if (metricName != null) {
+                latest.computeIfAbsent(sample.getInfraId(), id -> new LinkedHashMap<>())
+                        .put(metricName.getMetricName(), sample);
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Unit registered for a metric name, or null.
+     */
+    public String unitOf(String metricName) {
+        MetricName name = metricNameDictionary.find(metricName);
+        return name != null ? name.getUnit() : null;
+    }
+
+    @Transactional
+    public void deleteSamplesForInfra(Long infraId) {
+        int deleted = infraMetricSampleRepository.deleteByInfraId(infraId);
+        log.info("Deleted {} metric samples for infrastructure {}", deleted, infraId);
+    }
+}
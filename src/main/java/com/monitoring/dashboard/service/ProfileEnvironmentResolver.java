@@ -0,0 +1,103 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.repository.ProjectEnvironmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory lookup of profile code to environment code (DEV, STAGING, PROD, COB).
+ * All ops_profiles rows are loaded once and served from memory until a profile
+ * change invalidates the table; the next lookup reloads it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProfileEnvironmentResolver {
+
+    private final ProjectEnvironmentRepository projectEnvironmentRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong databaseLoads = new AtomicLong();
+    private final AtomicLong lookups = new AtomicLong();
+
+    private volatile Map<String, String> envCodeByProfile;
+
+    /**
+     * Resolve the environment code for a profile code.
+     * Returns null if the profile code is unknown.
+     */
+    public String resolveEnvCode(String profileCode) {
+        if (profileCode == null) {
+            return null;
+        }
+        lookups.incrementAndGet();
+        return getMappings().get(profileCode);
+    }
+
+    /**
+     * Drop the cached table. When called inside a transaction the cache is
+     * cleared after commit, so a concurrent reload cannot pick up uncommitted rows.
+     */
+    public void invalidate() {
+        TransactionHooks.afterCommit(this::clear);
+    }
+
+    /**
+     * Number of times the profile table has been read from the database.
+     */
+    public long getDatabaseLoadCount() {
+        return databaseLoads.get();
+    }
+
+    /**
+     * Number of lookups served since startup.
+     */
+    public long getLookupCount() {
+        return lookups.get();
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        envCodeByProfile = null;
+        log.debug("Profile environment cache invalidated");
+    }
+
+    private Map<String, String> getMappings() {
+        Map<String, String> mappings = envCodeByProfile;
+        if (mappings != null) {
+            return mappings;
+        }
+        synchronized (this) {
+            mappings = envCodeByProfile;
+            if (mappings == null) {
+                long loadGeneration = generation.get();
+                mappings = load();
+                // Only publish if no invalidation happened while we were loading
+                if (generation.get() == loadGeneration) {
+                    envCodeByProfile = mappings;
+                }
+            }
+            return mappings;
+        }
+    }
+
+    private Map<String, String> load() {
+        Map<String, String> mappings = new HashMap<>();
+        for (Object[] row : projectEnvironmentRepository.findAllProfileEnvCodes()) {
+            String profileCode = (String) row[0];
+            String envCode = (String) row[1];
+            if (profileCode != null && envCode != null) {
+                // Keep the first match (lowest profile id), as the per-row lookup did
+                mappings.putIfAbsent(profileCode, envCode);
+            }
+        }
+        long loads = databaseLoads.incrementAndGet();
+        log.info("Loaded {} profile environment mappings (load #{})", mappings.size(), loads);
+        return Map.copyOf(mappings);
+    }
+}
@@ -9,7 +9,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -33,75 +32,28 @@ public class ProjectService {
     @Autowired
     private RegionRepository regionRepository;
 
+    @Autowired
+    private ProfileEnvironmentResolver profileEnvironmentResolver;
+
+    @Autowired
+    private ProjectSummaryView projectSummaryView;
+
+    @Autowired
+    private DeployableProfileCache deployableProfileCache;
+
     /**
-     * Get all projects from ops_projects table with infrastructure breakdown by environment and type
+     * Get all projects from ops_projects table with infrastructure breakdown by environment and type.
+     * Served from {@link ProjectSummaryView}.
      */
     public List<ProjectSummaryDTO> getAllProjectSummaries() {
-        List<Project> projects = projectRepository.findAll();
-        List<ProjectSummaryDTO> summaries = new ArrayList<>();
-
-        for (Project project : projects) {
-            ProjectSummaryDTO summary = new ProjectSummaryDTO();
-            summary.setId(project.getProjectId());
-            summary.setName(project.getProjectName());
-            summary.setDescription(project.getDescription());
-            
-            // Get infrastructure for this project through the repository
-            List<Infrastructure> infrastructures = infrastructureRepository
-                .findByProjectEnvironmentMapping_Project_ProjectId(project.getProjectId());
-
-            // Count total infrastructure
-            summary.setTotalInfrastructure(infrastructures.size());
-
-            // Count total services (components)
-            summary.setTotalServices(project.getComponents().size());
-            
-            // Build infrastructure breakdown by environment and type
-            // Map structure: { "DEV": { "linux": 5, "windows": 3, "ecs": 2 }, "UAT": {...}, ... }
-            java.util.Map<String, java.util.Map<String, Integer>> infraByEnv = new java.util.HashMap<>();
-            
-            for (Infrastructure infra : infrastructures) {
-                String env = infra.getEnvironment(); // DEV, STAGING, PROD, COB
-                String type = infra.getInfraType(); // linux, windows, ecs
-                
-                // Map STAGING to UAT for display
-                if ("STAGING".equals(env)) {
-                    env = "UAT";
-                }
-                
-                infraByEnv.putIfAbsent(env, new java.util.HashMap<>());
-                java.util.Map<String, Integer> typeMap = infraByEnv.get(env);
-                typeMap.put(type, typeMap.getOrDefault(type, 0) + 1);
-            }
-            
-            summary.setInfrastructureByEnv(infraByEnv);
-            
-            // Overall health status
-            String healthStatus = "healthy";
-            long criticalCount = 0;
-            long warningCount = 0;
-            
-            for (Infrastructure infra : infrastructures) {
-                if ("critical".equals(infra.getStatus()) || "down".equals(infra.getStatus())) {
-                    criticalCount++;
-                } else if ("scaling".equals(infra.getStatus()) || "watch".equals(infra.getStatus())) {
-                    warningCount++;
-                }
-            }
-            
-            if (criticalCount > 0) {
-                healthStatus = "critical";
-            } else if (warningCount > 0) {
-                healthStatus = "warning";
-            }
-            
-            summary.setHealthStatus(healthStatus);
-            summary.setLastUpdated(LocalDateTime.now());
-            
-            summaries.add(summary);
-        }
+        return projectSummaryView.getAll();
+    }
 
-        return summaries;
+    /**
+     * Get the summary of one project, or null if it does not exist
+     */
+    public ProjectSummaryDTO getProjectSummary(Long projectId) {
+        return projectSummaryView.get(projectId);
     }
 
     /**
@@ -167,7 +119,11 @@ public class ProjectService {
             }
         }
         
-        return projectRepository.save(project);
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        Project saved = projectRepository.save(project);
+        projectSummaryView.invalidate(saved.getProjectId());
+        return saved;
     }
 
     /**
@@ -258,6 +214,9 @@ public class ProjectService {
             .filter(m -> !mappingsToKeep.contains(m.getPerId()))
             .forEach(project::removeEnvironmentMapping);
 
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        projectSummaryView.invalidate(projectId);
         return projectRepository.save(project);
     }
 
@@ -292,6 +251,9 @@ public class ProjectService {
     @Transactional
     public void deleteProject(Long projectId) {
         projectRepository.deleteById(projectId);
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        projectSummaryView.invalidate(projectId);
     }
 
     /**
@@ -317,6 +279,9 @@ public class ProjectService {
 
         // Delete the project permanently
         projectRepository.deleteById(projectId);
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        projectSummaryView.invalidate(projectId);
     }
 
     /**
@@ -417,6 +382,9 @@ public class ProjectService {
         }
 
         projectRepository.save(project);
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        projectSummaryView.invalidate(projectId);
 
         // Return the saved mapping as DTO
         ProjectEnvironmentMappingDetailDTO resultDTO = new ProjectEnvironmentMappingDetailDTO();
@@ -461,5 +429,8 @@ public class ProjectService {
 
         project.removeEnvironmentMapping(mappingToRemove);
         projectRepository.save(project);
+        profileEnvironmentResolver.invalidate();
+        deployableProfileCache.invalidate();
+        projectSummaryView.invalidate(projectId);
     }
 }
@@ -0,0 +1,204 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ProjectSummaryDTO;
+import com.monitoring.dashboard.model.Project;
+import com.monitoring.dashboard.repository.ComponentRepository;
+import com.monitoring.dashboard.repository.InfrastructureRepository;
+import com.monitoring.dashboard.repository.ProjectRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materialized project summaries (infra counts by env/type, service count, health rollup) for the landing page.
+ * All projects are computed on the first full read; a single-project read computes only that project.
+ * After that, writes that affect a project mark it dirty once they commit, and the next read recomputes
+ * only the dirty projects; every other read is served from memory.
+ */
+@Component
+@Slf4j
+public class ProjectSummaryView {
+
+    private final ProjectRepository projectRepository;
+    private final InfrastructureRepository infrastructureRepository;
+    private final ComponentRepository componentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, ProjectSummaryDTO> summaries = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private volatile boolean loaded;
+
+    public ProjectSummaryView(ProjectRepository projectRepository,
+                              InfrastructureRepository infrastructureRepository,
+                              ComponentRepository componentRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.projectRepository = projectRepository;
+        this.infrastructureRepository = infrastructureRepository;
+        this.componentRepository = componentRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Every project summary, ordered by project id.
+     */
+    public List<ProjectSummaryDTO> getAll() {
+        refresh();
+        List<ProjectSummaryDTO> all = new ArrayList<>(summaries.values());
+        all.sort(Comparator.comparing(ProjectSummaryDTO::getId));
+        return all;
+    }
+
+    /**
+     * Summary of one project, or null if it does not exist. Only this project is read from the database,
+     * and only when it has no summary yet or has been invalidated.
+     */
+    public ProjectSummaryDTO get(Long projectId) {
+        ProjectSummaryDTO cached = summaries.get(projectId);
+        if (cached != null && !dirty.contains(projectId)) {
+            return cached;
+        }
+        synchronized (this) {
+            cached = summaries.get(projectId);
+            if (!dirty.remove(projectId) && cached != null) {
+                return cached;
+            }
+            ProjectSummaryDTO summary = transactionTemplate.execute(status -> projectRepository.findById(projectId)
+                    .map(this::buildSummary)
+                    .orElse(null));
+            if (summary != null) {
+                summaries.put(projectId, summary);
+            } else {
+                summaries.remove(projectId);
+            }
+            return summary;
+        }
+    }
+
+    /**
+     * Mark a project for recomputation once the current transaction commits.
+     */
+    public void invalidate(Long projectId) {
+        if (projectId != null) {
+            TransactionHooks.afterCommit(() -> dirty.add(projectId));
+        }
+    }
+
+    public void invalidate(Collection<Long> projectIds) {
+        if (!projectIds.isEmpty()) {
+            List<Long> ids = List.copyOf(projectIds);
+            TransactionHooks.afterCommit(() -> dirty.addAll(ids));
+        }
+    }
+
+    private void refresh() {
+        if (loaded && dirty.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                // Invalidations arriving while loading stay queued and are applied on the next read
+                dirty.clear();
+                transactionTemplate.executeWithoutResult(status -> {
+                    Map<Long, Long> serviceCounts = new HashMap<>();
+                    for (Object[] row : componentRepository.countByProject()) {
+                        serviceCounts.put((Long) row[0], (Long) row[1]);
+                    }
+                    Map<Long, List<Object[]>> infraCounts = new HashMap<>();
+                    for (Object[] row : infrastructureRepository.countByProjectEnvironmentTypeAndStatus()) {
+                        infraCounts.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add(row);
+                    }
+                    for (Project project : projectRepository.findAll()) {
+                        summaries.put(project.getProjectId(), buildSummary(project,
+                                serviceCounts.getOrDefault(project.getProjectId(), 0L),
+                                infraCounts.getOrDefault(project.getProjectId(), List.of())));
+                    }
+                });
+                loaded = true;
+                log.info("Project summary view loaded for {} projects", summaries.size());
+                return;
+            }
+            List<Long> stale = new ArrayList<>(dirty);
+            dirty.removeAll(stale);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Long projectId : stale) {
+                    projectRepository.findById(projectId).ifPresentOrElse(
+                            project -> summaries.put(projectId, buildSummary(project)),
+                            () -> summaries.remove(projectId));
+                }
+            });
+            log.debug("Recomputed {} project summaries", stale.size());
+        }
+    }
+
+    private ProjectSummaryDTO buildSummary(Project project) {
+        return buildSummary(project,
+                componentRepository.countByProject_ProjectId(project.getProjectId()),
+                infrastructureRepository.countByEnvironmentTypeAndStatusForProject(project.getProjectId()));
+    }
+
+    /**
+     * Assemble a summary from the project's component count and its
+     * (projectId, environment, infraType, status, count) aggregate rows.
+     */
+    private ProjectSummaryDTO buildSummary(Project project, long serviceCount, List<Object[]> infraCounts) {
+        ProjectSummaryDTO summary = new ProjectSummaryDTO();
+        summary.setId(project.getProjectId());
+        summary.setName(project.getProjectName());
+        summary.setDescription(project.getDescription());
+        summary.setTotalServices((int) serviceCount);
+
+        // Build infrastructure breakdown by environment and type
+        // Map structure: { "DEV": { "linux": 5, "windows": 3, "ecs": 2 }, "UAT": {...}, ... }
+        Map<String, Map<String, Integer>> infraByEnv = new HashMap<>();
+        int totalInfrastructure = 0;
+        long criticalCount = 0;
+        long warningCount = 0;
+
+        for (Object[] row : infraCounts) {
+            String env = (String) row[1]; // DEV, STAGING, PROD, COB
+            String type = (String) row[2]; // linux, windows, ecs
+            String status = (String) row[3];
+            int count = ((Long) row[4]).intValue();
+
+            // Map STAGING to UAT for display
+            if ("STAGING".equals(env)) {
+                env = "UAT";
+            }
+            infraByEnv.computeIfAbsent(env, key -> new HashMap<>()).merge(type, count, Integer::sum);
+            totalInfrastructure += count;
+
+            if ("critical".equals(status) || "down".equals(status)) {
+                criticalCount += count;
+            } else if ("scaling".equals(status) || "watch".equals(status)) {
+                warningCount += count;
+            }
+        }
+
+        summary.setTotalInfrastructure(totalInfrastructure);
+        summary.setInfrastructureByEnv(infraByEnv);
+
+        // Overall health status
+        String healthStatus = "healthy";
+        if (criticalCount > 0) {
+            healthStatus = "critical";
+        } else if (warningCount > 0) {
+            healthStatus = "warning";
+        }
+
+        summary.setHealthStatus(healthStatus);
+        summary.setLastUpdated(LocalDateTime.now());
+        return summary;
+    }
+}
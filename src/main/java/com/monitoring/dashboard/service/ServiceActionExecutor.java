@@ -0,0 +1,394 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ServiceActionJobDTO;
+import com.monitoring.dashboard.dto.ServiceActionResponse;
+import com.monitoring.dashboard.model.ServiceInstance;
+import com.monitoring.dashboard.repository.ServiceInstanceRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Collectors;
+
+/**
+ * Runs service instance start/stop actions asynchronously.
+ * A submitted request becomes a job that can be polled by id. Every instance transition runs as
+ * its own task; on Java 21+ tasks run on virtual threads (one per task), otherwise on a fixed
+ * platform pool. Each host has a lane shared by all jobs that keeps at most
+ * {@code service-actions.max-concurrent-per-host} transitions running against one machine; the rest
+ * wait in the lane's queue without holding a worker, so one busy host cannot starve the others.
+ * Each status change commits in its own short transaction, so no connection is held while
+ * waiting on the agent call.
+ */
+@Service
+@Slf4j
+public class ServiceActionExecutor {
+
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+
+    private final ServiceInstanceRepository serviceInstanceRepository;
+    private final LifecycleAgentClient lifecycleAgentClient;
+    private final ServiceInstanceEventPublisher serviceInstanceEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final int maxConcurrentPerHost;
+    private final Map<String, HostLane> hostLanes = new ConcurrentHashMap<>();
+    private final Map<String, ActionJob> jobs = new ConcurrentHashMap<>();
+
+    public ServiceActionExecutor(ServiceInstanceRepository serviceInstanceRepository,
+                                 LifecycleAgentClient lifecycleAgentClient,
+                                 ServiceInstanceEventPublisher serviceInstanceEventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${service-actions.virtual-threads:true}") boolean virtualThreads,
+                                 @Value("${service-actions.worker-threads:32}") int workerThreads,
+                                 @Value("${service-actions.max-concurrent-per-host:4}") int maxConcurrentPerHost) {
+        this.serviceInstanceRepository = serviceInstanceRepository;
+        this.lifecycleAgentClient = lifecycleAgentClient;
+        this.serviceInstanceEventPublisher = serviceInstanceEventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = createWorkers(virtualThreads, workerThreads);
+        this.maxConcurrentPerHost = Math.max(1, maxConcurrentPerHost);
+    }
+
+    /**
+     * Use a virtual-thread-per-task executor when the runtime has one (Java 21+).
+     * The factory is looked up reflectively so the code still compiles against the Java 17 baseline;
+     * once build.gradle moves to Java 21 this can call Executors.newVirtualThreadPerTaskExecutor() directly.
+     */
+    private static ExecutorService createWorkers(boolean virtualThreads, int workerThreads) {
+        if (virtualThreads) {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                log.info("Service actions run on virtual threads");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.info("Virtual threads not available on Java {}, using {} platform worker threads",
+                        Runtime.version().feature(), workerThreads);
+            }
+        }
+        return Executors.newFixedThreadPool(workerThreads, new CustomizableThreadFactory("service-action-"));
+    }
+
+    /**
+     * Submit a start job and return immediately.
+     */
+    public ServiceActionJobDTO submitStart(List<String> instanceIds) {
+        return submit(Action.START, instanceIds).toDTO();
+    }
+
+    /**
+     * Submit a stop job and return immediately.
+     */
+    public ServiceActionJobDTO submitStop(List<String> instanceIds) {
+        return submit(Action.STOP, instanceIds).toDTO();
+    }
+
+    /**
+     * Start the instances and block until every transition has finished.
+     */
+    public List<ServiceActionResponse> runStart(List<String> instanceIds) {
+        return submit(Action.START, instanceIds).awaitResults();
+    }
+
+    /**
+     * Stop the instances and block until every transition has finished.
+     */
+    public List<ServiceActionResponse> runStop(List<String> instanceIds) {
+        return submit(Action.STOP, instanceIds).awaitResults();
+    }
+
+    /**
+     * Current state of a job, or empty if the id is unknown or the job has expired.
+     */
+    public Optional<ServiceActionJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ActionJob::toDTO);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private ActionJob submit(Action action, List<String> instanceIds) {
+        purgeExpiredJobs();
+
+        List<String> ids = instanceIds != null ? List.copyOf(instanceIds) : List.of();
+        ActionJob job = new ActionJob(UUID.randomUUID().toString(), action, ids);
+        jobs.put(job.jobId, job);
+
+        // Resolve machines (and projects, for change events) up front so transitions can be bounded per host
+        Map<String, Target> targets = new HashMap<>();
+        Set<String> lookupIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (!lookupIds.isEmpty()) {
+            for (Object[] row : serviceInstanceRepository.findActionTargets(lookupIds)) {
+                Target target = new Target((String) row[0], (String) row[1], (Long) row[2]);
+                targets.put(target.instanceId(), target);
+            }
+        }
+
+        Set<String> hosts = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            int index = i;
+            String instanceId = ids.get(i);
+            Target target = targets.get(instanceId);
+            if (target == null) {
+                job.complete(index, new ServiceActionResponse(
+                        instanceId, "Unknown", false, "Error: Service instance not found: " + instanceId, null));
+                continue;
+            }
+            hosts.add(target.machineName());
+            laneFor(target.machineName()).submit(() -> job.complete(index, transition(action, target)));
+        }
+
+        log.info("Submitted {} job {} for {} instance(s) across {} host(s)",
+                action.name, job.jobId, ids.size(), hosts.size());
+        return job;
+    }
+
+    private HostLane laneFor(String machineName) {
+        return hostLanes.computeIfAbsent(machineName, k -> new HostLane());
+    }
+
+    /**
+     * Move one instance through transitional -> target status.
+     * The two status writes run in separate transactions around the management call.
+     */
+    private ServiceActionResponse transition(Action action, Target target) {
+        String instanceId = target.instanceId();
+        try {
+            TransitionStart start = transactionTemplate.execute(status -> beginTransition(action, target));
+            if (start.alreadyInTarget()) {
+                return new ServiceActionResponse(instanceId, start.serviceName(), false,
+                        action.alreadyMessage, action.targetStatus);
+            }
+            log.info("{} service instance: {} ({})", action.progressLabel, start.serviceName(), instanceId);
+
+            try {
+                if (action == Action.START) {
+                    lifecycleAgentClient.start(instanceId, target.machineName());
+                } else {
+                    lifecycleAgentClient.stop(instanceId, target.machineName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                transactionTemplate.executeWithoutResult(status -> applyStatus(target, "degraded", false));
+                return new ServiceActionResponse(instanceId, start.serviceName(), false,
+                        action.failurePrefix + e.getMessage(), "degraded");
+            }
+
+            transactionTemplate.executeWithoutResult(status -> applyStatus(target, action.targetStatus, true));
+            log.info("Successfully {} service instance: {} ({})", action.doneLabel, start.serviceName(), instanceId);
+            return new ServiceActionResponse(instanceId, start.serviceName(), true,
+                    action.successMessage, action.targetStatus);
+
+        } catch (Exception e) {
+            log.error("Error {} service instance {}: {}", action.progressLabel.toLowerCase(), instanceId, e.getMessage());
+            return new ServiceActionResponse(instanceId, "Unknown", false, "Error: " + e.getMessage(), null);
+        }
+    }
+
+    private TransitionStart beginTransition(Action action, Target target) {
+        ServiceInstance instance = serviceInstanceRepository.findById(target.instanceId())
+                .orElseThrow(() -> new RuntimeException("Service instance not found: " + target.instanceId()));
+        if (action.targetStatus.equalsIgnoreCase(instance.getStatus())) {
+            return new TransitionStart(instance.getServiceName(), true);
+        }
+        instance.setStatus(action.transitionalStatus);
+        instance.setLastUpdated(LocalDateTime.now());
+        serviceInstanceRepository.save(instance);
+        serviceInstanceEventPublisher.publishChanged(instance, target.projectId());
+        return new TransitionStart(instance.getServiceName(), false);
+    }
+
+    private void applyStatus(Target target, String newStatus, boolean resetUptime) {
+        ServiceInstance instance = serviceInstanceRepository.findById(target.instanceId())
+                .orElseThrow(() -> new RuntimeException("Service instance not found: " + target.instanceId()));
+        instance.setStatus(newStatus);
+        if (resetUptime) {
+            instance.setUptimeSeconds(0);
+        }
+        instance.setLastUpdated(LocalDateTime.now());
+        serviceInstanceRepository.save(instance);
+        serviceInstanceEventPublisher.publishChanged(instance, target.projectId());
+    }
+
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(JOB_RETENTION);
+        jobs.values().removeIf(job -> job.completedAt != null && job.completedAt.isBefore(cutoff));
+    }
+
+    private record Target(String instanceId, String machineName, Long projectId) {}
+
+    private record TransitionStart(String serviceName, boolean alreadyInTarget) {}
+
+    private enum Action {
+        START("start", "starting", "running", "Starting", "started",
+                "Service is already running", "Service started successfully", "Failed to start service: "),
+        STOP("stop", "stopping", "stopped", "Stopping", "stopped",
+                "Service is already stopped", "Service stopped successfully", "Failed to stop service: ");
+
+        private final String name;
+        private final String transitionalStatus;
+        private final String targetStatus;
+        private final String progressLabel;
+        private final String doneLabel;
+        private final String alreadyMessage;
+        private final String successMessage;
+        private final String failurePrefix;
+
+        Action(String name, String transitionalStatus, String targetStatus, String progressLabel, String doneLabel,
+               String alreadyMessage, String successMessage, String failurePrefix) {
+            this.name = name;
+            this.transitionalStatus = transitionalStatus;
+            this.targetStatus = targetStatus;
+            this.progressLabel = progressLabel;
+            this.doneLabel = doneLabel;
+            this.alreadyMessage = alreadyMessage;
+            this.successMessage = successMessage;
+            this.failurePrefix = failurePrefix;
+        }
+    }
+
+    /**
+     * Per-host admission: a transition is handed to the worker pool only once it holds one of the
+     * host's slots. Queued transitions hold no thread; finishing one dispatches the next in FIFO order.
+     */
+    private final class HostLane {
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+        private int running;
+
+        private void submit(Runnable task) {
+            synchronized (this) {
+                if (running >= maxConcurrentPerHost) {
+                    waiting.add(task);
+                    return;
+                }
+                running++;
+            }
+            dispatch(task);
+        }
+
+        private void dispatch(Runnable task) {
+            try {
+                workers.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Pool is shutting down; give the slot back without draining the queue
+                synchronized (this) {
+                    running--;
+                }
+                throw e;
+            }
+        }
+
+        private void release() {
+            Runnable next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    running--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+    }
+
+    /**
+     * In-memory state of one submitted job. Results are stored by request position.
+     */
+    private static final class ActionJob {
+        private final String jobId;
+        private final Action action;
+        private final List<String> instanceIds;
+        private final AtomicReferenceArray<ServiceActionResponse> results;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile LocalDateTime completedAt;
+
+        private ActionJob(String jobId, Action action, List<String> instanceIds) {
+            this.jobId = jobId;
+            this.action = action;
+            this.instanceIds = instanceIds;
+            this.results = new AtomicReferenceArray<>(instanceIds.size());
+            if (instanceIds.isEmpty()) {
+                finish();
+            }
+        }
+
+        private void complete(int index, ServiceActionResponse response) {
+            results.set(index, response);
+            if (completed.incrementAndGet() == instanceIds.size()) {
+                finish();
+            }
+        }
+
+        private void finish() {
+            completedAt = LocalDateTime.now();
+            completion.complete(null);
+        }
+
+        private List<ServiceActionResponse> awaitResults() {
+            completion.join();
+            return collectResults();
+        }
+
+        private List<ServiceActionResponse> collectResults() {
+            List<ServiceActionResponse> done = new ArrayList<>();
+            for (int i = 0; i < results.length(); i++) {
+                ServiceActionResponse response = results.get(i);
+                if (response != null) {
+                    done.add(response);
+                }
+            }
+            return done;
+        }
+
+        private ServiceActionJobDTO toDTO() {
+            List<ServiceActionResponse> done = collectResults();
+            int succeeded = (int) done.stream().filter(ServiceActionResponse::isSuccess).count();
+            return new ServiceActionJobDTO(
+                    jobId,
+                    action.name,
+                    completion.isDone() ? "COMPLETED" : "IN_PROGRESS",
+                    instanceIds.size(),
+                    done.size(),
+                    succeeded,
+                    done.size() - succeeded,
+                    submittedAt,
+                    completedAt,
+                    done);
+        }
+    }
+}
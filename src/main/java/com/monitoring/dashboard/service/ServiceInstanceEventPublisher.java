@@ -0,0 +1,76 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO;
+import com.monitoring.dashboard.model.DeploymentConfig;
+import com.monitoring.dashboard.model.ServiceInstance;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes a {@link ServiceInstanceDeltaDTO} application event whenever a service instance is saved or deleted.
+ * Listeners use @TransactionalEventListener, so deltas are only delivered once the change has committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceInstanceEventPublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Publish the current runtime state of a saved instance.
+     * The project id is read from the instance's deployment config when not supplied.
+     */
+    public void publishChanged(ServiceInstance instance, Long projectId) {
+        eventPublisher.publishEvent(new ServiceInstanceDeltaDTO(
+                instance.getInstanceId(),
+                projectId != null ? projectId : projectIdOf(instance.getDeploymentConfig()),
+                instance.getServiceName(),
+                instance.getMachineName(),
+                instance.getProfile(),
+                instance.getStatus(),
+                instance.getUptimeSeconds(),
+                instance.getVersion(),
+                instance.getLastUpdated(),
+                false));
+    }
+
+    public void publishChanged(ServiceInstance instance) {
+        publishChanged(instance, null);
+    }
+
+    /**
+     * Publish a delta that was built elsewhere (e.g. read straight from the database).
+     */
+    public void publish(ServiceInstanceDeltaDTO delta) {
+        eventPublisher.publishEvent(delta);
+    }
+
+    /**
+     * Publish the removal of an instance.
+     */
+    public void publishDeleted(ServiceInstance instance) {
+        eventPublisher.publishEvent(new ServiceInstanceDeltaDTO(
+                instance.getInstanceId(),
+                projectIdOf(instance.getDeploymentConfig()),
+                instance.getServiceName(),
+                instance.getMachineName(),
+                instance.getProfile(),
+                null,
+                null,
+                null,
+                null,
+                true));
+    }
+
+    /**
+     * Project id of a deployment config. Initialises the config's lazy component (one select by id if it
+     * is not already in the persistence context); the project proxy itself is not initialised.
+     */
+    public static Long projectIdOf(DeploymentConfig config) {
+        if (config == null || config.getComponent() == null || config.getComponent().getProject() == null) {
+            return null;
+        }
+        return config.getComponent().getProject().getProjectId();
+    }
+}
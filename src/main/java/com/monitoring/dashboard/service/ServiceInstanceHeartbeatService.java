@@ -0,0 +1,107 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest;
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest.Heartbeat;
+import com.monitoring.dashboard.dto.HeartbeatBatchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ingests runtime heartbeats (status, uptime, version) reported by agents.
+ * With the write-behind buffer enabled, heartbeats are parked in {@link HeartbeatBuffer} and
+ * flushed periodically; otherwise they are written immediately by {@link ServiceInstanceHeartbeatWriter}.
+ * Only the direct-write path opens a transaction; buffered ingestion never touches the database.
+ */
+@Service
+@Slf4j
+public class ServiceInstanceHeartbeatService {
+
+    static final int MAX_HEARTBEATS_PER_REQUEST = 50_000;
+
+    private final ServiceInstanceHeartbeatWriter heartbeatWriter;
+    private final HeartbeatBuffer heartbeatBuffer;
+    private final ServiceInstanceStalenessMonitor stalenessMonitor;
+    private final TransactionTemplate transactionTemplate;
+
+    public ServiceInstanceHeartbeatService(ServiceInstanceHeartbeatWriter heartbeatWriter,
+                                           HeartbeatBuffer heartbeatBuffer,
+                                           ServiceInstanceStalenessMonitor stalenessMonitor,
+                                           PlatformTransactionManager transactionManager) {
+        this.heartbeatWriter = heartbeatWriter;
+        this.heartbeatBuffer = heartbeatBuffer;
+        this.stalenessMonitor = stalenessMonitor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Ingest a batch of heartbeats. Duplicates for the same instance are coalesced to the latest one.
+     */
+    public HeartbeatBatchResponse ingestHeartbeats(HeartbeatBatchRequest request) {
+        long startNanos = System.nanoTime();
+        List<Heartbeat> heartbeats = request != null ? request.getHeartbeats() : null;
+        if (heartbeats == null || heartbeats.isEmpty()) {
+            throw new IllegalArgumentException("At least one heartbeat is required");
+        }
+        if (heartbeats.size() > MAX_HEARTBEATS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_HEARTBEATS_PER_REQUEST
+                    + " heartbeats are accepted per request, got " + heartbeats.size());
+        }
+
+        LocalDateTime receivedAt = LocalDateTime.now();
+        Map<String, Heartbeat> latest = new LinkedHashMap<>();
+        int invalid = 0;
+        for (Heartbeat heartbeat : heartbeats) {
+            if (heartbeat == null || heartbeat.getInstanceId() == null || heartbeat.getInstanceId().isBlank()) {
+                invalid++;
+                continue;
+            }
+            LocalDateTime timestamp = heartbeat.getTimestamp() != null ? heartbeat.getTimestamp() : receivedAt;
+            Heartbeat normalized = new Heartbeat(heartbeat.getInstanceId(), heartbeat.getStatus(),
+                    heartbeat.getUptimeSeconds(), heartbeat.getVersion(), timestamp);
+            latest.merge(normalized.getInstanceId(), normalized,
+                    (current, next) -> next.getTimestamp().isBefore(current.getTimestamp()) ? current : next);
+        }
+
+        for (Heartbeat heartbeat : latest.values()) {
+            stalenessMonitor.recordHeartbeat(heartbeat.getInstanceId(), heartbeat.getStatus(), heartbeat.getTimestamp());
+        }
+
+        int applied = 0;
+        int buffered = 0;
+        if (heartbeatBuffer.isEnabled()) {
+            heartbeatBuffer.offer(latest.values());
+            buffered = latest.size();
+        } else {
+            List<String> appliedIds = transactionTemplate.execute(status -> {
+                List<String> ids = heartbeatWriter.applyHeartbeats(latest.values());
+                heartbeatWriter.publishChanges(ids);
+                return ids;
+            });
+            applied = appliedIds.size();
+        }
+
+        long durationNanos = System.nanoTime() - startNanos;
+        double heartbeatsPerSecond = durationNanos > 0 ? heartbeats.size() / (durationNanos / 1_000_000_000.0) : 0;
+        HeartbeatBatchResponse response = new HeartbeatBatchResponse(
+                heartbeats.size(),
+                invalid,
+                latest.size(),
+                applied,
+                buffered,
+                latest.size() - applied - buffered,
+                durationNanos / 1_000_000,
+                Math.round(heartbeatsPerSecond * 10) / 10.0);
+
+        log.info("Ingested {} heartbeats ({} instances, {} applied, {} buffered, {} skipped) in {} ms ({} heartbeats/s)",
+                response.getReceived(), response.getCoalesced(), response.getApplied(), response.getBuffered(), response.getSkipped(),
+                response.getDurationMs(), response.getHeartbeatsPerSecond());
+        return response;
+    }
+}
@@ -0,0 +1,90 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest.Heartbeat;
+import com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO;
+import com.monitoring.dashboard.repository.ServiceInstanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Writes runtime heartbeats (status, uptime, version) to ops_service_instances.
+ * Heartbeats are written with batched JDBC UPDATEs instead of loading and saving entities.
+ * A heartbeat only wins if it is at least as recent as the row's lastUpdated, so late or
+ * reordered deliveries never overwrite newer state. versionLock is bumped so concurrent
+ * JPA saves of the same instance fail their optimistic lock check rather than clobbering it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ServiceInstanceHeartbeatWriter {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPDATE_SQL = """
+        UPDATE ops_service_instances
+           SET status = COALESCE(?, status),
+               uptime_seconds = COALESCE(?, uptime_seconds),
+               version = COALESCE(?, version),
+               last_updated = ?,
+               version_lock = version_lock + 1
+         WHERE instance_id = ?
+           AND (last_updated IS NULL OR last_updated <= ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ServiceInstanceRepository serviceInstanceRepository;
+    private final ServiceInstanceEventPublisher serviceInstanceEventPublisher;
+    private final ServiceInstanceStreamService serviceInstanceStreamService;
+
+    /**
+     * Write heartbeats with batched UPDATEs. Expects at most one heartbeat per instance, each with a timestamp.
+     * Must run inside a transaction. Returns the ids of the rows that were actually updated.
+     */
+    public List<String> applyHeartbeats(Collection<Heartbeat> heartbeats) {
+        List<Heartbeat> ordered = new ArrayList<>(heartbeats);
+        List<String> applied = new ArrayList<>(ordered.size());
+
+        for (int from = 0; from < ordered.size(); from += BATCH_SIZE) {
+            List<Heartbeat> chunk = ordered.subList(from, Math.min(from + BATCH_SIZE, ordered.size()));
+            List<Object[]> args = new ArrayList<>(chunk.size());
+            for (Heartbeat heartbeat : chunk) {
+                args.add(new Object[] {
+                        heartbeat.getStatus(),
+                        heartbeat.getUptimeSeconds(),
+                        heartbeat.getVersion(),
+                        heartbeat.getTimestamp(),
+                        heartbeat.getInstanceId(),
+                        heartbeat.getTimestamp()
+                });
+            }
+
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    applied.add(chunk.get(i).getInstanceId());
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Re-read the updated rows as deltas for stream subscribers. Skipped when nobody is listening.
+     */
+    public void publishChanges(List<String> instanceIds) {
+        if (instanceIds.isEmpty() || serviceInstanceStreamService.getSubscriberCount() == 0) {
+            return;
+        }
+        for (int from = 0; from < instanceIds.size(); from += BATCH_SIZE) {
+            List<String> chunk = instanceIds.subList(from, Math.min(from + BATCH_SIZE, instanceIds.size()));
+            for (ServiceInstanceDeltaDTO delta : serviceInstanceRepository.findDeltasByInstanceIds(chunk)) {
+                serviceInstanceEventPublisher.publish(delta);
+            }
+        }
+    }
+}
@@ -1,22 +1,32 @@
 package com.monitoring.dashboard.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.monitoring.dashboard.dto.DeploymentDataRow;
+import com.monitoring.dashboard.dto.HeartbeatBatchRequest.Heartbeat;
+import com.monitoring.dashboard.dto.ServiceActionJobDTO;
 import com.monitoring.dashboard.dto.ServiceActionRequest;
 import com.monitoring.dashboard.dto.ServiceActionResponse;
 import com.monitoring.dashboard.dto.ServiceInstanceDTO;
+import com.monitoring.dashboard.dto.ServiceInstancePageDTO;
 import com.monitoring.dashboard.model.DeploymentConfig;
-import com.monitoring.dashboard.model.ProjectProfiles;
 import com.monitoring.dashboard.model.ServiceInstance;
 import com.monitoring.dashboard.repository.DeploymentConfigRepository;
-import com.monitoring.dashboard.repository.ProjectEnvironmentRepository;
 import com.monitoring.dashboard.repository.ServiceInstanceRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing service instances.
@@ -27,9 +37,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ServiceInstanceService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String CURSOR_SEPARATOR = "\u001F";
+    private static final int EXPORT_FLUSH_INTERVAL = 1000;
+
     private final ServiceInstanceRepository serviceInstanceRepository;
-    private final ProjectEnvironmentRepository projectEnvironmentRepository;
     private final DeploymentConfigRepository deploymentConfigRepository;
+    private final ProfileEnvironmentResolver profileEnvironmentResolver;
+    private final ObjectMapper objectMapper;
+    private final ServiceActionExecutor serviceActionExecutor;
+    private final ServiceInstanceEventPublisher serviceInstanceEventPublisher;
+    private final HeartbeatBuffer heartbeatBuffer;
 
     /**
      * Get all service instances.
@@ -41,6 +59,35 @@ public class ServiceInstanceService {
         return generateServiceInstancesFromDeploymentData(serviceInstanceRepository.findAllDeploymentData());
     }
 
+    /**
+     * Write every service instance (including not-deployed placeholders) to the stream as
+     * newline-delimited JSON. Rows are read through a database cursor and each DTO is written
+     * as soon as it is mapped, so heap use stays flat regardless of fleet size.
+     *
+     * @return number of instances written
+     */
+    @Transactional(readOnly = true)
+    public long exportServiceInstances(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<DeploymentDataRow> rows = serviceInstanceRepository.streamAllDeploymentData()) {
+            Iterator<DeploymentDataRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ServiceInstanceDTO dto = toServiceInstanceDTO(iterator.next());
+                if (dto == null) {
+                    continue;
+                }
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+                if (++count % EXPORT_FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        log.info("Exported {} service instances as NDJSON", count);
+        return count;
+    }
+
     /**
      * Get service instance by ID.
      */
@@ -113,6 +160,34 @@ public class ServiceInstanceService {
         );
     }
 
+    /**
+     * Get one keyset page of service instances ordered by (componentName, hostname, instanceId, configId).
+     * Filters are optional; the cursor is the nextCursor returned with the previous page.
+     */
+    @Transactional(readOnly = true)
+    public ServiceInstancePageDTO getServiceInstancesPage(String cursor, int limit, Long projectId,
+                                                          String status, String profile, String infraType) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String[] after = decodeCursor(cursor);
+        Long afterConfigId = after[3] != null ? Long.valueOf(after[3]) : null;
+
+        // Fetch one extra row to know whether another page follows
+        List<DeploymentDataRow> rows = serviceInstanceRepository.findDeploymentDataPage(
+                projectId, blankToNull(status), blankToNull(profile), blankToNull(infraType),
+                after[0], after[1], after[2], afterConfigId, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<DeploymentDataRow> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            DeploymentDataRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = encodeCursor(last.componentName(), last.hostname(), last.instanceId(), last.configId());
+        }
+
+        return new ServiceInstancePageDTO(generateServiceInstancesFromDeploymentData(pageRows), nextCursor, hasMore);
+    }
+
     /**
      * Get service instances by profile and service name.
      */
@@ -156,6 +231,7 @@ public class ServiceInstanceService {
         instance.setLastUpdated(dto.getLastUpdated());
 
         ServiceInstance saved = serviceInstanceRepository.save(instance);
+        serviceInstanceEventPublisher.publishChanged(saved);
         log.info("Created service instance: {} on {} linked to deployment config: {}",
                 saved.getServiceName(), saved.getMachineName(), dto.getConfigId());
         return convertToDTO(saved);
@@ -181,6 +257,7 @@ public class ServiceInstanceService {
         instance.setLastUpdated(dto.getLastUpdated());
 
         ServiceInstance updated = serviceInstanceRepository.save(instance);
+        serviceInstanceEventPublisher.publishChanged(updated);
         log.info("Updated service instance: {} on {}", updated.getServiceName(), updated.getMachineName());
         return convertToDTO(updated);
     }
@@ -190,10 +267,10 @@ public class ServiceInstanceService {
      */
     @Transactional
     public void deleteServiceInstance(String id) {
-        if (!serviceInstanceRepository.existsById(id)) {
-            throw new RuntimeException("Service instance not found with id: " + id);
-        }
-        serviceInstanceRepository.deleteById(id);
+        ServiceInstance instance = serviceInstanceRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Service instance not found with id: " + id));
+        serviceInstanceRepository.delete(instance);
+        serviceInstanceEventPublisher.publishDeleted(instance);
         log.info("Deleted service instance with id: {}", id);
     }
 
@@ -221,169 +298,72 @@ public class ServiceInstanceService {
         dto.setLogURL(generateLogURL(instance.getMachineName(), instance.getServiceName(), instance.getInfraType()));
         dto.setMetricsURL(generateMetricsURL(instance.getMachineName(), instance.getServiceName(), instance.getInfraType(), instance.getPort()));
 
+        applyBufferedHeartbeat(dto);
         return dto;
     }
-    
+
     /**
-     * Start multiple service instances.
-     * Updates status to 'starting' initially, then simulates actual start and updates to 'running'.
+     * Overlay a heartbeat still sitting in the write-behind buffer, so reads see the latest agent state.
      */
-    @Transactional
-    public List<ServiceActionResponse> startServiceInstances(ServiceActionRequest request) {
-        List<ServiceActionResponse> responses = new ArrayList<>();
-        
-        for (String instanceId : request.getInstanceIds()) {
-            try {
-                ServiceInstance instance = serviceInstanceRepository.findById(instanceId)
-                        .orElseThrow(() -> new RuntimeException("Service instance not found: " + instanceId));
-                
-                // Check if already running
-                if ("running".equalsIgnoreCase(instance.getStatus())) {
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            false,
-                            "Service is already running",
-                            "running"
-                    ));
-                    continue;
-                }
-                
-                // Set status to starting
-                instance.setStatus("starting");
-                serviceInstanceRepository.save(instance);
-                log.info("Starting service instance: {} ({})", instance.getServiceName(), instanceId);
-                
-                // Simulate actual start operation
-                // In a real implementation, this would call the actual service management API
-                // For now, we'll simulate a quick operation and set to running
-                try {
-                    // Simulate start delay (100-500ms)
-                    Thread.sleep(100 + (long)(Math.random() * 400));
-                    
-                    // Update to running status
-                    instance.setStatus("running");
-                    instance.setUptimeSeconds(0); // Reset uptime
-                    serviceInstanceRepository.save(instance);
-                    
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            true,
-                            "Service started successfully",
-                            "running"
-                    ));
-                    log.info("Successfully started service instance: {} ({})", instance.getServiceName(), instanceId);
-                    
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    instance.setStatus("degraded");
-                    serviceInstanceRepository.save(instance);
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            false,
-                            "Failed to start service: " + e.getMessage(),
-                            "degraded"
-                    ));
-                }
-                
-            } catch (Exception e) {
-                log.error("Error starting service instance {}: {}", instanceId, e.getMessage());
-                responses.add(new ServiceActionResponse(
-                        instanceId,
-                        "Unknown",
-                        false,
-                        "Error: " + e.getMessage(),
-                        null
-                ));
-            }
+    private void applyBufferedHeartbeat(ServiceInstanceDTO dto) {
+        Heartbeat heartbeat = heartbeatBuffer.peek(dto.getId());
+        if (heartbeat == null || (dto.getLastUpdated() != null && heartbeat.getTimestamp().isBefore(dto.getLastUpdated()))) {
+            return;
         }
-        
-        return responses;
+        if (heartbeat.getStatus() != null) {
+            dto.setStatus(heartbeat.getStatus());
+        }
+        if (heartbeat.getUptimeSeconds() != null) {
+            dto.setUptime(heartbeat.getUptimeSeconds() / 60);
+        }
+        if (heartbeat.getVersion() != null) {
+            dto.setVersion(heartbeat.getVersion());
+        }
+        dto.setLastUpdated(heartbeat.getTimestamp());
     }
     
     /**
-     * Stop multiple service instances.
-     * Updates status to 'stopping' initially, then simulates actual stop and updates to 'stopped'.
+     * Start multiple service instances and wait for all of them to finish.
+     * Transitions run in parallel (bounded per host) on {@link ServiceActionExecutor};
+     * each status change commits in its own transaction.
+     */
+    public List<ServiceActionResponse> startServiceInstances(ServiceActionRequest request) {
+        return serviceActionExecutor.runStart(request.getInstanceIds());
+    }
+
+    /**
+     * Stop multiple service instances and wait for all of them to finish.
+     * Transitions run in parallel (bounded per host) on {@link ServiceActionExecutor};
+     * each status change commits in its own transaction.
      */
-    @Transactional
     public List<ServiceActionResponse> stopServiceInstances(ServiceActionRequest request) {
-        List<ServiceActionResponse> responses = new ArrayList<>();
-        
-        for (String instanceId : request.getInstanceIds()) {
-            try {
-                ServiceInstance instance = serviceInstanceRepository.findById(instanceId)
-                        .orElseThrow(() -> new RuntimeException("Service instance not found: " + instanceId));
-                
-                // Check if already stopped
-                if ("stopped".equalsIgnoreCase(instance.getStatus())) {
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            false,
-                            "Service is already stopped",
-                            "stopped"
-                    ));
-                    continue;
-                }
-                
-                // Set status to stopping
-                instance.setStatus("stopping");
-                serviceInstanceRepository.save(instance);
-                log.info("Stopping service instance: {} ({})", instance.getServiceName(), instanceId);
-                
-                // Simulate actual stop operation
-                // In a real implementation, this would call the actual service management API
-                // For now, we'll simulate a quick operation and set to stopped
-                try {
-                    // Simulate stop delay (100-500ms)
-                    Thread.sleep(100 + (long)(Math.random() * 400));
-                    
-                    // Update to stopped status
-                    instance.setStatus("stopped");
-                    instance.setUptimeSeconds(0); // Reset uptime
-                    serviceInstanceRepository.save(instance);
-                    
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            true,
-                            "Service stopped successfully",
-                            "stopped"
-                    ));
-                    log.info("Successfully stopped service instance: {} ({})", instance.getServiceName(), instanceId);
-                    
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    instance.setStatus("degraded");
-                    serviceInstanceRepository.save(instance);
-                    responses.add(new ServiceActionResponse(
-                            instanceId,
-                            instance.getServiceName(),
-                            false,
-                            "Failed to stop service: " + e.getMessage(),
-                            "degraded"
-                    ));
-                }
-                
-            } catch (Exception e) {
-                log.error("Error stopping service instance {}: {}", instanceId, e.getMessage());
-                responses.add(new ServiceActionResponse(
-                        instanceId,
-                        "Unknown",
-                        false,
-                        "Error: " + e.getMessage(),
-                        null
-                ));
-            }
-        }
-        
-        return responses;
+        return serviceActionExecutor.runStop(request.getInstanceIds());
     }
-    
+
+    /**
+     * Submit an asynchronous start job. Poll it with {@link #getServiceActionJob(String)}.
+     */
+    public ServiceActionJobDTO submitStartServiceInstances(ServiceActionRequest request) {
+        return serviceActionExecutor.submitStart(request.getInstanceIds());
+    }
+
+    /**
+     * Submit an asynchronous stop job. Poll it with {@link #getServiceActionJob(String)}.
+     */
+    public ServiceActionJobDTO submitStopServiceInstances(ServiceActionRequest request) {
+        return serviceActionExecutor.submitStop(request.getInstanceIds());
+    }
+
     /**
-     * Determine environment type from profile code by looking up ProjectProfiles.
+     * Get the progress and results of a start/stop job.
+     */
+    public ServiceActionJobDTO getServiceActionJob(String jobId) {
+        return serviceActionExecutor.getJob(jobId)
+                .orElseThrow(() -> new RuntimeException("Service action job not found: " + jobId));
+    }
+
+    /**
+     * Determine environment type from profile code using the cached ProjectProfiles lookup.
      * Uses the actual envCode from the ProjectProfiles entity rather than parsing the profile string.
      * DEV: dev
      * STAGING: qa, uat, dailyrefresh profiles
@@ -395,14 +375,10 @@ public class ServiceInstanceService {
             return "STAGING"; // default
         }
         
-        // Look up the ProjectProfiles by profileCode to get the actual envCode
-        List<ProjectProfiles> environments = projectEnvironmentRepository.findByProfileCode(profileCode);
-
-        if (!environments.isEmpty()) {
-            ProjectProfiles env = environments.get(0); // Get first matching environment
-            if (env.getEnvCode() != null) {
-                return env.getEnvCode(); // Returns DEV, STAGING, PROD, or COB
-            }
+        // Resolve the actual envCode from the in-memory ProjectProfiles table
+        String envCode = profileEnvironmentResolver.resolveEnvCode(profileCode);
+        if (envCode != null) {
+            return envCode; // Returns DEV, STAGING, PROD, or COB
         }
 
         // Fallback to string matching if no ProjectProfiles found (backward compatibility)
@@ -423,96 +399,104 @@ public class ServiceInstanceService {
     /**
      * Generate ServiceInstanceDTO list from deployment data query results.
      * This method processes the joined data from components, deployment configs, infrastructure, and service instances.
-     * If no deployment config exists, it creates a placeholder DTO from component data.
+     * Components without a deployment config are skipped.
      * If deployment config exists but no service instance, it creates a placeholder from deployment config.
      */
-    private List<ServiceInstanceDTO> generateServiceInstancesFromDeploymentData(List<Object[]> deploymentData) {
-        List<ServiceInstanceDTO> results = new ArrayList<>();
-
-        for (Object[] row : deploymentData) {
-            ServiceInstanceDTO dto = new ServiceInstanceDTO();
-
-            // Component data (indices 0-3) - always present
-            Long componentId = (Long) row[0];
-            String componentName = (String) row[1];
-            String description = (String) row[2];
-            String module = (String) row[3];
-
-            // Deployment Config data (indices 4-6) - may be null if no deployment config
-            Long configId = (Long) row[4];
-            Integer basePort = (Integer) row[5];
-            Boolean enabled = (Boolean) row[6];
-
-            // Infrastructure data (indices 7-11) - may be null if no deployment config
-            Long infraId = (Long) row[7];
-            String hostname = (String) row[8];
-            String infraType = (String) row[9];
-            String environment = (String) row[10];
-            String region = (String) row[11];
-
-            // Profile data (index 12) - may be null
-            String profileCode = (String) row[12];
-
-            // Service Instance data (indices 13-22) - may be null if no instance exists
-            String instanceId = (String) row[13];
-            String serviceName = (String) row[14];
-            String machineName = (String) row[15];
-            Integer port = (Integer) row[16];
-            String profile = (String) row[17];
-            String version = (String) row[18];
-            Integer uptimeSeconds = (Integer) row[19];
-            String status = (String) row[20];
-            Object deployedAt = row[21];
-            Object lastUpdated = row[22];
-
-            // If no deployment config exists, skip this component (cannot deploy without config)
-            if (configId == null) {
-                log.debug("Component '{}' has no deployment config, skipping", componentName);
-                continue;
-            }
+    private List<ServiceInstanceDTO> generateServiceInstancesFromDeploymentData(List<DeploymentDataRow> deploymentData) {
+        List<ServiceInstanceDTO> results = new ArrayList<>(deploymentData.size());
 
-            // Set config ID
-            dto.setConfigId(configId);
-
-            // If service instance exists, use its data
-            if (instanceId != null) {
-                dto.setId(instanceId);
-                dto.setServiceName(serviceName);
-                dto.setMachineName(machineName);
-                dto.setPort(port);
-                dto.setProfile(profile);
-                dto.setVersion(version);
-                dto.setUptime(uptimeSeconds != null ? uptimeSeconds / 60 : null);
-                dto.setStatus(status);
-                dto.setDeployedAt(deployedAt != null ? (java.time.LocalDateTime) deployedAt : null);
-                dto.setLastUpdated(lastUpdated != null ? (java.time.LocalDateTime) lastUpdated : null);
-            } else {
-                // No service instance exists - generate placeholder data from deployment config
-                dto.setId(generatePlaceholderId(componentId, infraId));
-                dto.setServiceName(componentName);
-                dto.setMachineName(hostname);
-                dto.setPort(basePort);
-                dto.setProfile(profileCode != null ? profileCode : deriveProfileFromEnvironment(environment, region));
-                dto.setVersion(null);
-                dto.setUptime(null);
-                dto.setStatus("not-deployed"); // Special status to indicate no instance exists
-                dto.setDeployedAt(null);
-                dto.setLastUpdated(null);
+        for (DeploymentDataRow row : deploymentData) {
+            ServiceInstanceDTO dto = toServiceInstanceDTO(row);
+            if (dto != null) {
+                results.add(dto);
             }
+        }
 
-            // Set infrastructure type and environment type
-            dto.setInfraType(infraType);
-            dto.setEnvType(determineEnvType(dto.getProfile()));
+        log.info("Generated {} service instance DTOs from deployment data ({} profile table loads since startup)",
+                results.size(), profileEnvironmentResolver.getDatabaseLoadCount());
+        return results;
+    }
 
-            // Generate log and metrics URLs
-            dto.setLogURL(generateLogURL(hostname, dto.getServiceName(), infraType));
-            dto.setMetricsURL(generateMetricsURL(hostname, dto.getServiceName(), infraType, dto.getPort()));
+    /**
+     * Map one deployment data row to a DTO.
+     * Returns null if the component has no deployment config (cannot deploy without config).
+     */
+    private ServiceInstanceDTO toServiceInstanceDTO(DeploymentDataRow row) {
+        if (row.configId() == null) {
+            log.debug("Component '{}' has no deployment config, skipping", row.componentName());
+            return null;
+        }
 
-            results.add(dto);
+        ServiceInstanceDTO dto = new ServiceInstanceDTO();
+        dto.setConfigId(row.configId());
+
+        // If service instance exists, use its data
+        if (row.instanceId() != null) {
+            dto.setId(row.instanceId());
+            dto.setServiceName(row.serviceName());
+            dto.setMachineName(row.machineName());
+            dto.setPort(row.port());
+            dto.setProfile(row.profile());
+            dto.setVersion(row.version());
+            dto.setUptime(row.uptimeSeconds() != null ? row.uptimeSeconds() / 60 : null);
+            dto.setStatus(row.status());
+            dto.setDeployedAt(row.deployedAt());
+            dto.setLastUpdated(row.lastUpdated());
+            applyBufferedHeartbeat(dto);
+        } else {
+            // No service instance exists - generate placeholder data from deployment config
+            dto.setId(generatePlaceholderId(row.componentId(), row.infraId()));
+            dto.setServiceName(row.componentName());
+            dto.setMachineName(row.hostname());
+            dto.setPort(row.basePort());
+            dto.setProfile(row.profileCode() != null
+                    ? row.profileCode()
+                    : deriveProfileFromEnvironment(row.environment(), row.region()));
+            dto.setStatus("not-deployed"); // Special status to indicate no instance exists
         }
 
-        log.info("Generated {} service instance DTOs from deployment data", results.size());
-        return results;
+        // Set infrastructure type and environment type
+        dto.setInfraType(row.infraType());
+        dto.setEnvType(determineEnvType(dto.getProfile()));
+
+        // Generate log and metrics URLs
+        dto.setLogURL(generateLogURL(row.hostname(), dto.getServiceName(), row.infraType()));
+        dto.setMetricsURL(generateMetricsURL(row.hostname(), dto.getServiceName(), row.infraType(), dto.getPort()));
+
+        return dto;
+    }
+
+    /**
+     * Encode the keyset position of the last row on a page as an opaque URL-safe token.
+     */
+    private String encodeCursor(String componentName, String hostname, String instanceId, Long configId) {
+        String raw = String.join(CURSOR_SEPARATOR, componentName, hostname, instanceId != null ? instanceId : "",
+                String.valueOf(configId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor into (componentName, hostname, instanceId, configId). A missing cursor yields all nulls.
+     */
+    private String[] decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new String[4];
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(CURSOR_SEPARATOR, -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            Long.parseLong(parts[3]); // NumberFormatException is an IllegalArgumentException
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
     }
 
     /**
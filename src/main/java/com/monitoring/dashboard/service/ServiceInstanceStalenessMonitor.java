@@ -0,0 +1,257 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks service instances "unknown" when their agent stops reporting.
+ * Only instances whose agent has sent at least one heartbeat through {@link #recordHeartbeat} are
+ * tracked; seeded rows and start/stop or CRUD changes never arm a deadline, so instances without a
+ * reporting agent keep whatever status they were given. Each tracked instance has a deadline
+ * (last heartbeat + heartbeat timeout).
+ * Deadlines live in a map, and a priority queue holds at most one entry per instance ordered by
+ * deadline. A heartbeat only moves the deadline in the map; the queue entry is re-queued lazily
+ * when it reaches the head, so each sweep costs O(expired) rather than a table scan.
+ * Expired instances are updated with one JDBC batch and published as change deltas.
+ */
+@Component
+@Slf4j
+public class ServiceInstanceStalenessMonitor {
+
+    public static final String STALE_STATUS = "unknown";
+
+    // Statuses that are not expected to heartbeat
+    private static final Set<String> UNTRACKED_STATUSES = Set.of("stopped", STALE_STATUS, "not-deployed");
+    private static final int BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_MS = 5_000;
+
+    private static final String MARK_STALE_SQL = """
+        UPDATE ops_service_instances
+           SET status = ?,
+               version_lock = version_lock + 1
+         WHERE instance_id = ?
+           AND (last_updated IS NULL OR last_updated <= ?)
+           AND (status IS NULL OR LOWER(status) NOT IN ('stopped', 'unknown'))
+        """;
+
+    private final ServiceInstanceHeartbeatWriter heartbeatWriter;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final long heartbeatTimeoutMs;
+    private final long sweepIntervalMs;
+
+    private final Map<String, Long> deadlines = new ConcurrentHashMap<>();
+    private final PriorityQueue<Deadline> queue = new PriorityQueue<>();
+    // Instances with an entry in the queue, including untracked ones whose entry has not reached the head yet.
+    // Guarded by the queue lock
+    private final Set<String> queued = new HashSet<>();
+    private final ScheduledExecutorService sweeper =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("staleness-sweeper-"));
+
+    public ServiceInstanceStalenessMonitor(ServiceInstanceHeartbeatWriter heartbeatWriter,
+                                           JdbcTemplate jdbcTemplate,
+                                           PlatformTransactionManager transactionManager,
+                                           @Value("${staleness.enabled:true}") boolean enabled,
+                                           @Value("${staleness.heartbeat-timeout-ms:90000}") long heartbeatTimeoutMs,
+                                           @Value("${staleness.sweep-interval-ms:200}") long sweepIntervalMs) {
+        this.heartbeatWriter = heartbeatWriter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.heartbeatTimeoutMs = heartbeatTimeoutMs;
+        this.sweepIntervalMs = sweepIntervalMs;
+    }
+
+    /**
+     * Start sweeping. Nothing is tracked until agents report: lastUpdated in the table is not a
+     * heartbeat (seed data, start/stop and CRUD all set it), so it is not used to arm deadlines.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Staleness monitor disabled");
+            return;
+        }
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Staleness monitor started (timeout {} ms, sweep every {} ms); instances are tracked from their first heartbeat",
+                heartbeatTimeoutMs, sweepIntervalMs);
+    }
+
+    public int getTrackedCount() {
+        return deadlines.size();
+    }
+
+    /**
+     * Record a heartbeat from an instance's agent. This is the only call that starts tracking an instance.
+     */
+    public void recordHeartbeat(String instanceId, String status, LocalDateTime seenAt) {
+        if (!enabled || instanceId == null) {
+            return;
+        }
+        if (status != null && !isTracked(status)) {
+            deadlines.remove(instanceId);
+            return;
+        }
+        track(instanceId, seenAt != null ? toMillis(seenAt) : System.currentTimeMillis());
+    }
+
+    /**
+     * Stop tracking instances that were deleted or moved to a status that does not heartbeat.
+     * Changes made outside the heartbeat path never start tracking an instance.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceInstanceChanged(ServiceInstanceDeltaDTO delta) {
+        if (!enabled) {
+            return;
+        }
+        if (delta.isDeleted() || !isTracked(delta.getStatus())) {
+            deadlines.remove(delta.getInstanceId());
+        }
+    }
+
+    /**
+     * Pop every expired deadline, mark those instances stale and publish the change.
+     */
+    void sweep() {
+        try {
+            List<Deadline> expired = collectExpired(System.currentTimeMillis());
+            if (!expired.isEmpty()) {
+                markStale(expired);
+            }
+        } catch (Exception e) {
+            log.error("Staleness sweep failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private List<Deadline> collectExpired(long now) {
+        List<Deadline> expired = new ArrayList<>();
+        synchronized (queue) {
+            while (!queue.isEmpty() && queue.peek().deadlineMillis <= now) {
+                Deadline head = queue.poll();
+                Long current = deadlines.get(head.instanceId);
+                if (current == null) {
+                    queued.remove(head.instanceId); // untracked since it was queued
+                    continue;
+                }
+                if (current > head.deadlineMillis) {
+                    queue.add(new Deadline(head.instanceId, current)); // heartbeat moved it; re-queue lazily
+                    continue;
+                }
+                if (deadlines.remove(head.instanceId, current)) {
+                    queued.remove(head.instanceId);
+                    expired.add(head);
+                } else {
+                    Long refreshed = deadlines.get(head.instanceId);
+                    if (refreshed != null) {
+                        queue.add(new Deadline(head.instanceId, refreshed));
+                    } else {
+                        queued.remove(head.instanceId);
+                    }
+                }
+            }
+        }
+        return expired;
+    }
+
+    private void markStale(List<Deadline> expired) {
+        try {
+            List<String> marked = transactionTemplate.execute(status -> {
+                List<String> ids = new ArrayList<>();
+                for (int from = 0; from < expired.size(); from += BATCH_SIZE) {
+                    List<Deadline> chunk = expired.subList(from, Math.min(from + BATCH_SIZE, expired.size()));
+                    List<Object[]> args = new ArrayList<>(chunk.size());
+                    for (Deadline deadline : chunk) {
+                        args.add(new Object[] {
+                                STALE_STATUS,
+                                deadline.instanceId,
+                                toLocalDateTime(deadline.deadlineMillis - heartbeatTimeoutMs)
+                        });
+                    }
+                    int[] counts = jdbcTemplate.batchUpdate(MARK_STALE_SQL, args);
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                            ids.add(chunk.get(i).instanceId);
+                        }
+                    }
+                }
+                heartbeatWriter.publishChanges(ids);
+                return ids;
+            });
+            if (!marked.isEmpty()) {
+                log.warn("Marked {} service instance(s) {} after {} ms without a heartbeat",
+                        marked.size(), STALE_STATUS, heartbeatTimeoutMs);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to mark {} instance(s) stale, retrying in {} ms: {}",
+                    expired.size(), RETRY_DELAY_MS, e.getMessage());
+            long retryAt = System.currentTimeMillis() + RETRY_DELAY_MS - heartbeatTimeoutMs;
+            expired.forEach(deadline -> track(deadline.instanceId, retryAt));
+        }
+    }
+
+    /**
+     * Set or extend an instance's deadline. A queue entry is only added when the instance has none:
+     * an entry left behind by an untrack is reused (and re-queued lazily) when it reaches the head,
+     * so flapping between tracked and untracked never grows the queue.
+     * The map is updated before the queue lock is taken; collectExpired relies on that ordering.
+     */
+    private void track(String instanceId, long lastSeenMillis) {
+        long deadline = lastSeenMillis + heartbeatTimeoutMs;
+        deadlines.merge(instanceId, deadline, Math::max);
+        synchronized (queue) {
+            if (queued.add(instanceId)) {
+                queue.add(new Deadline(instanceId, deadline));
+            }
+        }
+    }
+
+    private static boolean isTracked(String status) {
+        return status != null && !UNTRACKED_STATUSES.contains(status.toLowerCase());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time != null ? time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0L;
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private record Deadline(String instanceId, long deadlineMillis) implements Comparable<Deadline> {
+        @Override
+        public int compareTo(Deadline other) {
+            return Long.compare(deadlineMillis, other.deadlineMillis);
+        }
+    }
+}
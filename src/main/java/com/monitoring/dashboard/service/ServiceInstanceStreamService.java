@@ -0,0 +1,259 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ServiceInstanceDeltaDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fans committed service instance changes out to Server-Sent Events subscribers.
+ * Each subscriber may filter by project and/or profile. Publishing never blocks on a client:
+ * deltas are queued per subscriber, coalesced per instance (only the latest state is kept), and
+ * written by that subscriber's own drain task, so a slow client only ever holds up its own stream.
+ * A subscriber whose backlog exceeds {@code service-stream.max-pending-per-subscriber} distinct
+ * instances, or whose write has been blocked longer than {@code service-stream.send-timeout-ms},
+ * is disconnected and is expected to reload and resubscribe.
+ */
+@Service
+@Slf4j
+public class ServiceInstanceStreamService {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final long KEEP_ALIVE_SECONDS = 20;
+    private static final long SEND_WATCHDOG_MS = 1000;
+
+    private final int maxPendingPerSubscriber;
+    private final long sendTimeoutNanos;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService keepAliveScheduler;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    public ServiceInstanceStreamService(@Value("${service-stream.max-pending-per-subscriber:1000}") int maxPendingPerSubscriber,
+                                        @Value("${service-stream.send-timeout-ms:10000}") long sendTimeoutMs) {
+        this.maxPendingPerSubscriber = Math.max(1, maxPendingPerSubscriber);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, sendTimeoutMs));
+        // Unbounded on purpose: each subscriber has at most one drain task in flight, so threads are
+        // bounded by open streams and idle ones are reclaimed; no shared slot can be held by a slow client
+        this.senders = Executors.newCachedThreadPool(new CustomizableThreadFactory("service-stream-"));
+        this.keepAliveScheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("service-stream-keepalive-"));
+        this.keepAliveScheduler.scheduleAtFixedRate(this::sendKeepAlives, KEEP_ALIVE_SECONDS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        this.keepAliveScheduler.scheduleWithFixedDelay(this::closeStalledSubscribers, SEND_WATCHDOG_MS, SEND_WATCHDOG_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Open a stream of instance changes. Null filters match everything.
+     */
+    public SseEmitter subscribe(Long projectId, String profile) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Subscriber subscriber = new Subscriber(emitter, projectId,
+                profile != null && !profile.isBlank() ? profile.trim() : null);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscriber.close("timed out"));
+        emitter.onError(e -> subscriber.close("error: " + e.getMessage()));
+        subscribers.add(subscriber);
+
+        log.info("Service instance stream opened (projectId={}, profile={}), {} subscriber(s)",
+                projectId, subscriber.profile, subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Route a committed change to every matching subscriber. Only enqueues; never writes to a client.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceInstanceChanged(ServiceInstanceDeltaDTO delta) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(delta)) {
+                subscriber.offer(delta);
+            }
+        }
+    }
+
+    private void sendKeepAlives() {
+        subscribers.forEach(Subscriber::offerKeepAlive);
+    }
+
+    /**
+     * Disconnect subscribers whose current write has been blocked past the send timeout.
+     */
+    private void closeStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.closeIfStalled(now);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        keepAliveScheduler.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    /**
+     * One open stream. Pending deltas are keyed by instanceId so a burst of updates to the
+     * same instance costs one slot and one write.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Long projectId;
+        private final String profile;
+        private final LinkedHashMap<String, ServiceInstanceDeltaDTO> pending = new LinkedHashMap<>();
+        private boolean keepAliveDue;
+        private boolean draining;
+        private boolean closed;
+        private Thread sender;
+        private long sendStartedAt;
+
+        private Subscriber(SseEmitter emitter, Long projectId, String profile) {
+            this.emitter = emitter;
+            this.projectId = projectId;
+            this.profile = profile;
+        }
+
+        private boolean matches(ServiceInstanceDeltaDTO delta) {
+            return (projectId == null || projectId.equals(delta.getProjectId()))
+                    && (profile == null || profile.equalsIgnoreCase(delta.getProfile()));
+        }
+
+        private void offer(ServiceInstanceDeltaDTO delta) {
+            boolean overflow;
+            boolean schedule = false;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                pending.remove(delta.getInstanceId());
+                pending.put(delta.getInstanceId(), delta);
+                overflow = pending.size() > maxPendingPerSubscriber;
+                if (!overflow && !draining) {
+                    draining = true;
+                    schedule = true;
+                }
+            }
+            if (overflow) {
+                close("backlog exceeded " + maxPendingPerSubscriber + " instances");
+            } else if (schedule) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void offerKeepAlive() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                keepAliveDue = true;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            senders.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                List<ServiceInstanceDeltaDTO> batch;
+                boolean keepAlive;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !keepAliveDue)) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    keepAlive = keepAliveDue;
+                    keepAliveDue = false;
+                }
+                try {
+                    if (keepAlive) {
+                        send(SseEmitter.event().comment("keep-alive"));
+                    }
+                    for (ServiceInstanceDeltaDTO delta : batch) {
+                        send(SseEmitter.event()
+                                .name("instance")
+                                .id(delta.getInstanceId())
+                                .data(delta));
+                    }
+                } catch (Exception e) {
+                    close("send failed: " + e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Write one event, recording when the write started so the watchdog can spot a stalled client.
+         */
+        private void send(SseEmitter.SseEventBuilder event) throws Exception {
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("subscriber closed");
+                }
+                sender = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                emitter.send(event);
+            } finally {
+                synchronized (this) {
+                    sender = null;
+                }
+                // Clear an interrupt aimed at this write so it does not leak into the next pooled task
+                Thread.interrupted();
+            }
+        }
+
+        private void closeIfStalled(long now) {
+            synchronized (this) {
+                if (closed || sender == null || now - sendStartedAt < sendTimeoutNanos) {
+                    return;
+                }
+                // Interrupt under the lock so it can only hit this write, not the thread's next task.
+                // Best effort: unblocks writes that honour interruption; otherwise the write fails once
+                // the completed emitter's connection is torn down
+                sender.interrupt();
+            }
+            close("send blocked for more than " + TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos) + " ms");
+        }
+
+        private void close(String reason) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            subscribers.remove(this);
+            log.info("Service instance stream closed (projectId={}, profile={}): {}", projectId, profile, reason);
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Ignoring error completing emitter: {}", e.getMessage());
+            }
+        }
+    }
+}
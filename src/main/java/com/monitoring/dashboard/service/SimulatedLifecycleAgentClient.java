@@ -0,0 +1,27 @@
+package com.monitoring.dashboard.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stand-in for the runtime agent until real agent endpoints exist.
+ * Simulates a blocking management call that takes 100-500ms.
+ */
+@Component
+public class SimulatedLifecycleAgentClient implements LifecycleAgentClient {
+
+    @Override
+    public void start(String instanceId, String machineName) throws InterruptedException {
+        simulateCall();
+    }
+
+    @Override
+    public void stop(String instanceId, String machineName) throws InterruptedException {
+        simulateCall();
+    }
+
+    private void simulateCall() throws InterruptedException {
+        Thread.sleep(100 + ThreadLocalRandom.current().nextLong(400));
+    }
+}
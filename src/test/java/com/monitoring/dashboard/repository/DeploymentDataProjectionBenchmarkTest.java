@@ -0,0 +1,159 @@
+package com.monitoring.dashboard.repository;
+
+import com.monitoring.dashboard.dto.DeploymentDataRow;
+import com.monitoring.dashboard.model.Component;
+import com.monitoring.dashboard.model.DeploymentConfig;
+import com.monitoring.dashboard.model.Infrastructure;
+import com.monitoring.dashboard.model.ProjectProfiles;
+import com.monitoring.dashboard.model.ServiceInstance;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the two ways of reading the deployment-data join over 100k service instances:
+ * loading ServiceInstance entities and walking their associations, versus the
+ * {@link DeploymentDataRow} constructor projection.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false",
+        "capacity-alerts.enabled=false"
+})
+class DeploymentDataProjectionBenchmarkTest {
+
+    private static final int INSTANCE_COUNT = 100_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final int MEASURED_RUNS = 3;
+
+    @Autowired
+    private ServiceInstanceRepository serviceInstanceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long existing = serviceInstanceRepository.count();
+        if (existing < INSTANCE_COUNT) {
+            seedInstances((int) (INSTANCE_COUNT - existing));
+        }
+    }
+
+    @Test
+    void projectionIsFasterAndIssuesFewerStatementsThanEntityLoad() {
+        // Warm up both paths once so class loading and query plan caching are not measured
+        readOnly.execute(status -> loadViaEntities());
+        readOnly.execute(status -> serviceInstanceRepository.findAllDeploymentData());
+
+        Run entities = measure(this::loadViaEntities);
+        Run projection = measure(serviceInstanceRepository::findAllDeploymentData);
+
+        assertThat(entities.rows()).isGreaterThanOrEqualTo(INSTANCE_COUNT);
+        assertThat(projection.rows()).isGreaterThanOrEqualTo(INSTANCE_COUNT);
+        assertThat(projection.statements()).isLessThan(entities.statements());
+        assertThat(projection.nanos()).isLessThan(entities.nanos());
+    }
+
+    /**
+     * Load every instance as an entity and map it to the same row shape by walking its associations.
+     */
+    private List<DeploymentDataRow> loadViaEntities() {
+        List<ServiceInstance> instances = serviceInstanceRepository.findAll();
+        List<DeploymentDataRow> rows = new ArrayList<>(instances.size());
+        for (ServiceInstance si : instances) {
+            DeploymentConfig dc = si.getDeploymentConfig();
+            Component c = dc.getComponent();
+            Infrastructure i = dc.getInfrastructure();
+            ProjectProfiles p = dc.getProfile();
+            rows.add(new DeploymentDataRow(
+                    c.getComponentId(), c.getComponentName(), c.getDescription(), c.getModule(),
+                    dc.getConfigId(), dc.getBasePort(), dc.getEnabled(),
+                    i.getInfraId(), i.getHostname(), i.getInfraType(), i.getEnvironment(), i.getRegion(),
+                    p != null ? p.getProfileCode() : null,
+                    si.getInstanceId(), si.getServiceName(), si.getMachineName(), si.getPort(), si.getProfile(),
+                    si.getVersion(), si.getUptimeSeconds(), si.getStatus(), si.getDeployedAt(), si.getLastUpdated()));
+        }
+        return rows;
+    }
+
+    /**
+     * Best wall time of several runs, each in its own read-only transaction, with the statements of the last run.
+     */
+    private Run measure(Supplier<List<DeploymentDataRow>> load) {
+        long best = Long.MAX_VALUE;
+        int rows = 0;
+        long statements = 0;
+        for (int run = 0; run < MEASURED_RUNS; run++) {
+            statistics.clear();
+            long start = System.nanoTime();
+            rows = readOnly.execute(status -> load.get().size());
+            best = Math.min(best, System.nanoTime() - start);
+            statements = statistics.getPrepareStatementCount();
+        }
+        return new Run(best, rows, statements);
+    }
+
+    private void seedInstances(int count) {
+        List<Object[]> configs = jdbcTemplate.query(
+                "SELECT dc.config_id, i.hostname, i.infra_type FROM ops_deployment_configs dc "
+                        + "JOIN ops_infra i ON i.infra_id = dc.infra_id",
+                (rs, rowNum) -> new Object[] {rs.getLong(1), rs.getString(2), rs.getString(3)});
+        assertThat(configs).isNotEmpty();
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int n = 0; n < count; n++) {
+            Object[] config = configs.get(n % configs.size());
+            batch.add(new Object[] {
+                    "bench-" + n, config[0], "bench-service", config[1], config[2], "bench",
+                    20_000 + n % 10_000, "1.0.0", n % 86_400, "running", now, now
+            });
+            if (batch.size() == INSERT_BATCH_SIZE || n == count - 1) {
+                jdbcTemplate.batchUpdate("""
+                        INSERT INTO ops_service_instances
+                            (instance_id, config_id, service_name, machine_name, infra_type, profile,
+                             port, version, uptime_seconds, status, deployed_at, last_updated, version_lock)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)
+                        """, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private record Run(long nanos, int rows, long statements) {}
+}
@@ -0,0 +1,92 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.InfraMetrics;
+import com.monitoring.dashboard.model.MetricName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The evaluator sits on the sample ingest path, so a single thread must keep up with 100k samples/s
+ * (snapshot update plus evaluation) while usage swings across the alert thresholds.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false"
+})
+class CapacityAlertEvaluatorThroughputTest {
+
+    private static final int TARGET_SAMPLES_PER_SECOND = 100_000;
+    private static final int WARMUP_SAMPLES = 200_000;
+    private static final int MEASURED_SAMPLES = 1_000_000;
+
+    @Autowired
+    private CapacityAlertEvaluator capacityAlertEvaluator;
+
+    @Autowired
+    private LatestMetricSnapshot latestMetricSnapshot;
+
+    private final List<UsedMetric> usedMetrics = new ArrayList<>();
+    private long clock = System.currentTimeMillis();
+
+    @BeforeEach
+    void setUp() {
+        for (Long infraId : latestMetricSnapshot.getHostIds()) {
+            Map<String, MetricName> names = new HashMap<>();
+            Map<String, Double> values = new HashMap<>();
+            latestMetricSnapshot.forEach(infraId, (metricName, value, timeMillis) -> {
+                names.put(metricName.getMetricName(), metricName);
+                values.put(metricName.getMetricName(), value);
+            });
+            names.forEach((metricName, name) -> {
+                if (!InfraMetrics.KIND_USED.equals(InfraMetrics.kindOf(metricName))) {
+                    return;
+                }
+                Double capacity = values.get(metricName.replace("_used", "_max"));
+                if (capacity != null && capacity > 0) {
+                    usedMetrics.add(new UsedMetric(infraId, name.getMetricNameId(), capacity));
+                }
+            });
+        }
+    }
+
+    @Test
+    void evaluatesAtLeastOneHundredThousandSamplesPerSecond() {
+        assertThat(usedMetrics).isNotEmpty();
+        feed(WARMUP_SAMPLES);
+
+        long startNanos = System.nanoTime();
+        feed(MEASURED_SAMPLES);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        double samplesPerSecond = MEASURED_SAMPLES / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        assertThat(samplesPerSecond).isGreaterThanOrEqualTo(TARGET_SAMPLES_PER_SECOND);
+    }
+
+    /**
+     * Record and evaluate samples round-robin over every host metric, sweeping usage from 50% to 99%
+     * of capacity so hosts keep moving between healthy, watch and scaling.
+     */
+    private void feed(int samples) {
+        for (int i = 0; i < samples; i++) {
+            UsedMetric metric = usedMetrics.get(i % usedMetrics.size());
+            double fraction = 0.50 + (i / usedMetrics.size() % 50) / 100.0;
+            latestMetricSnapshot.record(metric.infraId(), metric.metricNameId(), ++clock, metric.capacity() * fraction);
+            capacityAlertEvaluator.evaluate(metric.infraId(), metric.metricNameId());
+        }
+    }
+
+    private record UsedMetric(long infraId, int metricNameId, double capacity) {}
+}
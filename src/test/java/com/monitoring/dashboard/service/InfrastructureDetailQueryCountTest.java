@@ -0,0 +1,68 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.InfraDetailDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Infrastructure detail views must cost the same number of statements for one host as for every host:
+ * mapping and project are fetched with the hosts and metrics come from the in-memory snapshot.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false",
+        "capacity-alerts.enabled=false"
+})
+class InfrastructureDetailQueryCountTest {
+
+    @Autowired
+    private InfrastructureService infrastructureService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Warm up lazily initialised lookups so they are not counted against the first measurement
+        infrastructureService.getAllInfrastructureDetails();
+    }
+
+    @Test
+    void queryCountDoesNotGrowWithHostCount() {
+        List<InfraDetailDTO> all = infrastructureService.getAllInfrastructureDetails();
+        assertThat(all).hasSizeGreaterThan(10);
+        assertThat(all).allSatisfy(detail -> assertThat(detail.getProjectName()).isNotNull());
+        InfraDetailDTO first = all.get(0);
+
+        long singleHost = countStatements(() -> infrastructureService.getInfrastructureDetailsById(first.getInfraId()));
+        long oneProject = countStatements(() -> infrastructureService.getInfrastructureDetailsByProject(first.getProjectId()));
+        long allHosts = countStatements(() -> infrastructureService.getAllInfrastructureDetails());
+
+        assertThat(singleHost).isPositive();
+        assertThat(oneProject).isEqualTo(singleHost);
+        assertThat(allHosts).isEqualTo(singleHost);
+    }
+
+    private long countStatements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,118 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.MetricRangeDTO;
+import com.monitoring.dashboard.model.InfraMetricRollup;
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.MetricResolution;
+import com.monitoring.dashboard.repository.InfraMetricRollupRepository;
+import com.monitoring.dashboard.repository.InfrastructureRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Range reads on 1-minute rollups with range edges that do not fall on a bucket boundary: buckets that
+ * straddle {@code from} or {@code to} must not leak samples from outside the range into the edge slots.
+ * Each minute m holds six raw samples (every 10 s) valued m * 10 + k, and a matching 1m rollup bucket.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = {
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false",
+        "capacity-alerts.enabled=false"
+})
+class MetricHistoryServiceTest {
+
+    private static final String METRIC = "history_edge_test";
+    private static final int MINUTES = 12;
+    private static final int SAMPLES_PER_MINUTE = 6;
+
+    // Three hours back: inside 1m rollup retention, and the minute tier is chosen for a 60 s step
+    private static final LocalDateTime T0 = LocalDateTime.now().minusHours(3).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private MetricHistoryService metricHistoryService;
+
+    @Autowired
+    private MetricSampleService metricSampleService;
+
+    @Autowired
+    private MetricNameDictionary metricNameDictionary;
+
+    @Autowired
+    private InfraMetricRollupRepository infraMetricRollupRepository;
+
+    @Autowired
+    private InfrastructureRepository infrastructureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static boolean seeded;
+
+    private Long infraId;
+
+    @BeforeEach
+    void setUp() {
+        infraId = infrastructureRepository.findAll().get(0).getInfraId();
+        Integer metricNameId = metricNameDictionary.intern(METRIC, "%").getMetricNameId();
+        if (seeded) {
+            return; // the context, and its data, is shared by the tests in this class
+        }
+        seeded = true;
+
+        List<InfraMetricSample> samples = new ArrayList<>();
+        List<InfraMetricRollup> rollups = new ArrayList<>();
+        for (int m = 0; m < MINUTES; m++) {
+            LocalDateTime bucket = T0.plusMinutes(m);
+            for (int k = 0; k < SAMPLES_PER_MINUTE; k++) {
+                samples.add(new InfraMetricSample(infraId, metricNameId, bucket.plusSeconds(k * 10L), m * 10 + k));
+            }
+            rollups.add(new InfraMetricRollup(infraId, metricNameId, MetricResolution.MINUTE.getCode(), bucket,
+                    m * 10, m * 10 + 5, m * 10 + 2.5, m * 10 + 5, SAMPLES_PER_MINUTE));
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            metricSampleService.appendSamples(samples);
+            infraMetricRollupRepository.saveAll(rollups);
+        });
+    }
+
+    @Test
+    void nonAlignedToExcludesSamplesAfterTheRange() {
+        // The last slot covers [10:00, 10:30): samples valued 100, 101 and 102; the 10th bucket runs to 105
+        MetricRangeDTO range = metricHistoryService.getMetricRange(
+                List.of(infraId), METRIC, T0, T0.plusMinutes(10).plusSeconds(30), 60L, "max");
+
+        Double[] values = range.getSeries().get(0).getValues();
+        assertThat(range.getResolution()).isEqualTo(MetricResolution.MINUTE.getCode());
+        assertThat(values).hasSize(11);
+        assertThat(values[9]).isEqualTo(95.0);
+        assertThat(values[10]).isEqualTo(102.0);
+    }
+
+    @Test
+    void nonAlignedFromExcludesSamplesBeforeTheRange() {
+        // The first slot covers [00:15, 01:00): samples valued 2..5; the first bucket starts at 0
+        MetricRangeDTO range = metricHistoryService.getMetricRange(
+                List.of(infraId), METRIC, T0.plusSeconds(15), T0.plusMinutes(5), 60L, "min");
+
+        Double[] values = range.getSeries().get(0).getValues();
+        assertThat(range.getResolution()).isEqualTo(MetricResolution.MINUTE.getCode());
+        assertThat(values[0]).isEqualTo(2.0);
+        assertThat(values[1]).isEqualTo(10.0);
+    }
+}
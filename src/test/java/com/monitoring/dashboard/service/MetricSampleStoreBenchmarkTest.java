@@ -0,0 +1,137 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.model.InfraMetricSample;
+import com.monitoring.dashboard.model.InfraMetrics;
+import com.monitoring.dashboard.model.Infrastructure;
+import com.monitoring.dashboard.repository.InfraMetricSampleRepository;
+import com.monitoring.dashboard.repository.InfraMetricsRepository;
+import com.monitoring.dashboard.repository.InfrastructureRepository;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the numeric sample store (ops_infra_metric_samples, appended with JDBC batches) with the
+ * string-valued ops_infra_metrics entity rows it replaced, for bulk ingest and for a range read.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = {
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false",
+        "capacity-alerts.enabled=false"
+})
+class MetricSampleStoreBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MetricSampleStoreBenchmarkTest.class);
+
+    private static final int SAMPLES = 20_000;
+    private static final String SAMPLE_METRIC = "bench_sample_store";
+    private static final String STRING_ROW_METRIC = "bench_string_rows";
+
+    @Autowired
+    private MetricSampleService metricSampleService;
+
+    @Autowired
+    private MetricNameDictionary metricNameDictionary;
+
+    @Autowired
+    private InfraMetricSampleRepository infraMetricSampleRepository;
+
+    @Autowired
+    private InfraMetricsRepository infraMetricsRepository;
+
+    @Autowired
+    private InfrastructureRepository infrastructureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sampleStoreIngestsAndReadsFasterThanStringRows() {
+        TransactionTemplate writer = new TransactionTemplate(transactionManager);
+        TransactionTemplate reader = new TransactionTemplate(transactionManager);
+        reader.setReadOnly(true);
+
+        Long infraId = infrastructureRepository.findAll().get(0).getInfraId();
+        Integer metricNameId = metricNameDictionary.intern(SAMPLE_METRIC, "%").getMetricNameId();
+        LocalDateTime from = LocalDateTime.now().minusDays(1).withNano(0);
+        LocalDateTime to = from.plusSeconds(SAMPLES);
+
+        List<InfraMetricSample> samples = new ArrayList<>(SAMPLES);
+        for (int i = 0; i < SAMPLES; i++) {
+            samples.add(new InfraMetricSample(infraId, metricNameId, from.plusSeconds(i), i % 100));
+        }
+
+        long sampleIngest = time(() -> writer.execute(status -> metricSampleService.appendSamples(samples)));
+        long stringRowIngest = time(() -> writer.execute(status -> {
+            Infrastructure host = infrastructureRepository.getReferenceById(infraId);
+            List<InfraMetrics> rows = new ArrayList<>(SAMPLES);
+            for (int i = 0; i < SAMPLES; i++) {
+                InfraMetrics row = new InfraMetrics();
+                row.setInfrastructure(host);
+                row.setMetricName(STRING_ROW_METRIC);
+                row.setMetricValue(String.valueOf(i % 100));
+                row.setUnit("%");
+                row.setMetricDate(from.plusSeconds(i).toLocalDate());
+                row.setMetricTime(from.plusSeconds(i));
+                rows.add(row);
+            }
+            return infraMetricsRepository.saveAll(rows).size();
+        }));
+
+        double[] sampleSum = new double[1];
+        long sampleRead = time(() -> reader.execute(status -> {
+            double sum = 0;
+            for (InfraMetricSample sample : infraMetricSampleRepository.findRange(infraId, metricNameId, from, to)) {
+                sum += sample.getMetricValue();
+            }
+            sampleSum[0] = sum;
+            return sum;
+        }));
+        double[] stringRowSum = new double[1];
+        long stringRowRead = time(() -> reader.execute(status -> {
+            double sum = 0;
+            for (InfraMetrics row : infraMetricsRepository.findByInfrastructure_InfraId(infraId)) {
+                if (STRING_ROW_METRIC.equals(row.getMetricName()) && row.getMetricTime() != null
+                        && !row.getMetricTime().isBefore(from) && row.getMetricTime().isBefore(to)) {
+                    sum += Double.parseDouble(row.getMetricValue());
+                }
+            }
+            stringRowSum[0] = sum;
+            return sum;
+        }));
+
+        log.info("Ingest of {} samples: sample store {} ms, string rows {} ms; range read: sample store {} ms, string rows {} ms",
+                SAMPLES, millis(sampleIngest), millis(stringRowIngest), millis(sampleRead), millis(stringRowRead));
+
+        assertThat(sampleSum[0]).isEqualTo(stringRowSum[0]);
+        assertThat(sampleIngest).isLessThan(stringRowIngest);
+        assertThat(sampleRead).isLessThan(stringRowRead);
+    }
+
+    private static long time(Supplier<?> call) {
+        long start = System.nanoTime();
+        call.get();
+        return System.nanoTime() - start;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
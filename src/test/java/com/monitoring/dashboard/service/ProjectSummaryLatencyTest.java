@@ -0,0 +1,100 @@
+package com.monitoring.dashboard.service;
+
+import com.monitoring.dashboard.dto.ProjectSummaryDTO;
+import com.monitoring.dashboard.model.Project;
+import com.monitoring.dashboard.repository.ProjectRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark for the single-project summary path: opening one project must cost the same whether
+ * there are a handful of projects or 500.
+ */
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "heartbeat-buffer.enabled=false",
+        "staleness.enabled=false",
+        "metric-rollup.enabled=false",
+        "capacity-alerts.enabled=false"
+})
+class ProjectSummaryLatencyTest {
+
+    private static final int PROJECT_COUNT = 500;
+    private static final int WARMUP_READS = 200;
+    private static final int MEASURED_READS = 500;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectSummaryView projectSummaryView;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void singleProjectLatencyIsIndependentOfProjectCount() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long projectId = projectRepository.findAll().get(0).getProjectId();
+
+        Measurement few = measure(projectId, statistics);
+
+        List<Project> extra = new ArrayList<>();
+        for (long i = projectRepository.count(); i < PROJECT_COUNT; i++) {
+            extra.add(new Project("Benchmark project " + i, "Latency benchmark"));
+        }
+        projectRepository.saveAll(extra);
+        assertThat(projectRepository.count()).isGreaterThanOrEqualTo(PROJECT_COUNT);
+        // Load every summary once so the view is fully materialized, as after the landing page renders
+        assertThat(projectService.getAllProjectSummaries()).hasSizeGreaterThanOrEqualTo(PROJECT_COUNT);
+
+        Measurement many = measure(projectId, statistics);
+
+        assertThat(many.statementsPerRead()).isEqualTo(few.statementsPerRead());
+        // Generous bound for a noisy CI host; a per-project scan would be two orders of magnitude slower
+        assertThat(many.medianNanos()).isLessThan(few.medianNanos() * 3 + 1_000_000);
+    }
+
+    /**
+     * Median latency and statement count of recomputing one project's summary, as after a write invalidates it.
+     */
+    private Measurement measure(Long projectId, Statistics statistics) {
+        for (int i = 0; i < WARMUP_READS; i++) {
+            projectSummaryView.invalidate(projectId);
+            projectService.getProjectSummary(projectId);
+        }
+
+        long[] nanos = new long[MEASURED_READS];
+        statistics.clear();
+        for (int i = 0; i < MEASURED_READS; i++) {
+            projectSummaryView.invalidate(projectId);
+            long start = System.nanoTime();
+            ProjectSummaryDTO summary = projectService.getProjectSummary(projectId);
+            nanos[i] = System.nanoTime() - start;
+            assertThat(summary).isNotNull();
+        }
+        long statementsPerRead = statistics.getPrepareStatementCount() / MEASURED_READS;
+
+        Arrays.sort(nanos);
+        return new Measurement(nanos[MEASURED_READS / 2], statementsPerRead);
+    }
+
+    private record Measurement(long medianNanos, long statementsPerRead) {}
+}